@@ -0,0 +1,88 @@
+package org.example.soccer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+// Compares two JMH CSV result files (-rf csv) row by row:
+//   java -cp target/benchmarks.jar org.example.soccer.BaselineCompare baselines/main.csv target/jmh-result.csv
+// Rows are matched on benchmark name plus parameters; gc profiler rows compare the same way.
+public final class BaselineCompare {
+    private BaselineCompare() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BaselineCompare <baseline.csv> <current.csv>");
+            System.exit(2);
+        }
+        Map<String, String[]> baseline = read(Paths.get(args[0]));
+        Map<String, String[]> current = read(Paths.get(args[1]));
+
+        System.out.printf("%-70s %16s %16s %9s  %s%n", "Benchmark", "Baseline", "Current", "Change", "Unit");
+        for (Map.Entry<String, String[]> entry : current.entrySet()) {
+            String[] now = entry.getValue();
+            String[] before = baseline.get(entry.getKey());
+            double score = Double.parseDouble(now[1]);
+            if (before == null) {
+                System.out.printf("%-70s %16s %16.3f %9s  %s%n", entry.getKey(), "-", score, "new", now[2]);
+                continue;
+            }
+            double base = Double.parseDouble(before[1]);
+            String change = base == 0 ? "-" : String.format("%+8.1f%%", (score - base) / base * 100);
+            System.out.printf("%-70s %16.3f %16.3f %9s  %s%n", entry.getKey(), base, score, change, now[2]);
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.printf("%-70s %16s%n", key, "missing");
+            }
+        }
+    }
+
+    // key -> {mode, score, unit}
+    private static Map<String, String[]> read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        Map<String, String[]> rows = new LinkedHashMap<>();
+        if (lines.isEmpty()) return rows;
+
+        List<String> header = split(lines.get(0));
+        int benchmark = header.indexOf("Benchmark");
+        int mode = header.indexOf("Mode");
+        int score = header.indexOf("Score");
+        int unit = header.indexOf("Unit");
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) continue;
+            List<String> cells = split(line);
+            StringBuilder key = new StringBuilder(cells.get(benchmark));
+            for (int c = 0; c < header.size(); c++) {
+                if (header.get(c).startsWith("Param: ") && c < cells.size() && !cells.get(c).isEmpty()) {
+                    key.append(' ').append(header.get(c).substring(7)).append('=').append(cells.get(c));
+                }
+            }
+            rows.put(key.toString(), new String[] {cells.get(mode), cells.get(score), cells.get(unit)});
+        }
+        return rows;
+    }
+
+    private static List<String> split(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+}
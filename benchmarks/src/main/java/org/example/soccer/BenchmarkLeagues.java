@@ -0,0 +1,31 @@
+package org.example.soccer;
+
+// Shared fixtures for the benchmarks: seeded leagues with full squads
+final class BenchmarkLeagues {
+    static final long SEED = 42L;
+    private static final String[] POSITIONS = {
+            "Goalkeeper", "Defender", "Defender", "Defender", "Defender",
+            "Midfielder", "Midfielder", "Midfielder", "Forward", "Forward", "Forward"
+    };
+
+    private BenchmarkLeagues() {
+    }
+
+    static Team team(String name) {
+        Team team = new Team(name);
+        for (int p = 0; p < POSITIONS.length; p++) {
+            team.addPlayer(new Player(name + " Player " + (p + 1), POSITIONS[p]));
+        }
+        return team;
+    }
+
+    static League league(int teams) {
+        League league = new League("Benchmark League");
+        league.setSeed(SEED);
+        for (int t = 0; t < teams; t++) {
+            league.addTeam(team("Team " + t));
+        }
+        league.generateMatches();
+        return league;
+    }
+}
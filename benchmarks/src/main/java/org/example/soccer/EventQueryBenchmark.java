@@ -0,0 +1,77 @@
+package org.example.soccer;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// EventIndex queries over a finished double round robin (about 5 million events at 600
+// teams), and indexing the season from scratch
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EventQueryBenchmark {
+    @Param({"60", "600"})
+    public int teams;
+
+    private League league;
+    private EventIndex index;
+    private Team home;
+    private Team away;
+    private Player striker;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        league = BenchmarkLeagues.league(teams);
+        league.generateMatches(true);
+        league.simulateAllMatches();
+        index = league.getEventIndex();
+        home = league.getTeams().get(0);
+        away = league.getTeams().get(teams / 2);
+        striker = home.getPlayers().get(home.getPlayers().size() - 1);
+    }
+
+    @Benchmark
+    public int playerGoals() {
+        return index.query().player(striker).types(EventStore.GOAL).run().size();
+    }
+
+    @Benchmark
+    public int headToHead() {
+        return index.query().between(home, away).run().size();
+    }
+
+    @Benchmark
+    public int lateCardsCount() {
+        return index.query().types(EventStore.YELLOW_CARD).minutes(81, MatchFormat.MAX_MINUTES).count();
+    }
+
+    @Benchmark
+    public int teamLateCards() {
+        return index.query().team(home).types(EventStore.YELLOW_CARD).minutes(81, MatchFormat.MAX_MINUTES).run().size();
+    }
+
+    // Linear walk over every packed event for the same answer as teamLateCards, for comparison
+    @Benchmark
+    public int teamLateCardsScan() {
+        EventStore events = league.getEventStore();
+        int found = 0;
+        for (int i = 0, n = events.size(); i < n; i++) {
+            long event = events.get(i);
+            if (EventStore.type(event) == EventStore.YELLOW_CARD && EventStore.teamId(event) == home.getId()
+                    && EventStore.minute(event) >= 81) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    // Indexing the whole season on first use
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int buildIndex() {
+        return new EventIndex(league).getIndexedGames();
+    }
+}
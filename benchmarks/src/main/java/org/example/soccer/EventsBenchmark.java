@@ -0,0 +1,31 @@
+package org.example.soccer;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Accumulating every finished game's events into League.allEvents
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class EventsBenchmark {
+    @Param({"20", "200", "2000"})
+    public int teams;
+
+    private League league;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        league = BenchmarkLeagues.league(teams);
+        league.simulateAllMatches();
+    }
+
+    @Benchmark
+    public int collectEvents() {
+        league.collectEvents();
+        return league.getAllEvents().size();
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.soccer;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Single-game simulation: Game.simulate() plus the Team.getRandomPlayer() draws it makes,
+// uniform and weighted by position (alias table)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBenchmark {
+    private Game game;
+    private Team team;
+    private RandomSource random;
+    private EventStore events;
+    private long index;
+
+    @Setup
+    public void setUp() {
+        game = new Game(BenchmarkLeagues.team("Home"), BenchmarkLeagues.team("Away"));
+        team = BenchmarkLeagues.team("Squad");
+        random = new SplitMixRandom();
+        events = new EventStore();
+    }
+
+    @Benchmark
+    public Game simulateGame() {
+        random.reset(BenchmarkLeagues.SEED, index++);
+        events.clear();
+        game.simulate(random, events);
+        return game;
+    }
+
+    @Benchmark
+    public Player randomPlayer() {
+        return team.getRandomPlayer(random);
+    }
+
+    @Benchmark
+    public Player weightedPlayer() {
+        return team.getRandomPlayer(random, EventStore.GOAL);
+    }
+}
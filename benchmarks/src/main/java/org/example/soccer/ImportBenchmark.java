@@ -0,0 +1,59 @@
+package org.example.soccer;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+// RosterImporter into an empty league, 11 players per team; rows/s is teams * 11 / time
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ImportBenchmark {
+    private static final String[] POSITIONS = {
+            "Goalkeeper", "Defender", "Defender", "Defender", "Defender",
+            "Midfielder", "Midfielder", "Midfielder", "Forward", "Forward", "Forward"
+    };
+
+    @Param({"2000", "20000"})
+    public int teams;
+
+    private String csv;
+    private String json;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder rows = new StringBuilder("team,player,position\n");
+        StringBuilder squads = new StringBuilder("[");
+        for (int t = 0; t < teams; t++) {
+            squads.append(t == 0 ? "" : ",").append("{\"name\":\"Team ").append(t).append("\",\"players\":[");
+            for (int p = 0; p < POSITIONS.length; p++) {
+                String player = "Team " + t + " Player " + (p + 1);
+                rows.append("Team ").append(t).append(',').append(player).append(',').append(POSITIONS[p]).append('\n');
+                squads.append(p == 0 ? "" : ",").append("{\"name\":\"").append(player)
+                        .append("\",\"position\":\"").append(POSITIONS[p]).append("\"}");
+            }
+            squads.append("]}");
+        }
+        csv = rows.toString();
+        json = squads.append(']').toString();
+    }
+
+    @Benchmark
+    public League importCsv() throws IOException {
+        League league = new League("Import");
+        RosterImporter.importCsv(new StringReader(csv), league);
+        return league;
+    }
+
+    @Benchmark
+    public League importJson() throws IOException {
+        League league = new League("Import");
+        RosterImporter.importJson(new StringReader(json), league);
+        return league;
+    }
+}
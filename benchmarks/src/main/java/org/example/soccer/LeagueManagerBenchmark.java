@@ -0,0 +1,62 @@
+package org.example.soccer;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// LeagueManager playing 1,000 twenty-team seasons on a shared pool, plus one 2,000-team
+// season alongside them in the mixed case (ms per op)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class LeagueManagerBenchmark {
+    private static final int LEAGUES = 1000;
+
+    @Param({"1", "4"})
+    public int workers;
+
+    @Param({"false", "true"})
+    public boolean withHugeLeague;
+
+    private LeagueManager manager;
+    private List<LeagueManager.Entry> entries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        manager = new LeagueManager(workers);
+        entries = new ArrayList<>();
+        for (int l = 0; l < LEAGUES; l++) {
+            entries.add(manager.add("League " + l, BenchmarkLeagues.league(20), 1));
+        }
+        if (withHugeLeague) entries.add(manager.add("Huge", BenchmarkLeagues.league(2000), 1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        manager.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void newSeasons() {
+        for (LeagueManager.Entry entry : entries) {
+            entry.getLeague().resetSeason();
+            entry.getLeague().generateMatches();
+        }
+    }
+
+    @Benchmark
+    public long playAll() {
+        CompletableFuture<?>[] runs = new CompletableFuture<?>[entries.size()];
+        for (int e = 0; e < runs.length; e++) {
+            runs[e] = entries.get(e).submit();
+        }
+        CompletableFuture.allOf(runs).join();
+        return manager.getGamesPlayed();
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.soccer;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// LiveMatches playing one matchday of a 2,000-team league (1,000 matches) on a clock that
+// runs a match minute every microsecond, so the measure is the drawing at kick-off, the
+// wheel and the results going in rather than the wait
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LiveMatchesBenchmark {
+    private static final LiveMatches.Listener IGNORE = (match, event) -> { };
+
+    private League league;
+    private LiveMatches live;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        league = BenchmarkLeagues.league(2000);
+        live = new LiveMatches(1_000);
+    }
+
+    // Each iteration plays on from the start of a season
+    @Setup(Level.Iteration)
+    public void newSeason() {
+        league.resetSeason();
+        league.generateMatches();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        live.close();
+    }
+
+    @Benchmark
+    public int playMatchday() {
+        LiveMatches.Matchday matchday = live.start(league, IGNORE);
+        matchday.whenDone().join();
+        return league.getCompletedCount();
+    }
+}
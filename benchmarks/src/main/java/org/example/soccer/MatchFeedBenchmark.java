@@ -0,0 +1,59 @@
+package org.example.soccer;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+// MatchFeed publishing a finished 200-team season (19,900 games) as the league reports it,
+// to 1 and 4 subscribers that take everything; delivery runs on the publishing thread so
+// only the feed's own cost is measured
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchFeedBenchmark {
+    @Param({"1", "4"})
+    public int subscribers;
+
+    private List<Game> games;
+    private Blackhole blackhole;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        League league = BenchmarkLeagues.league(200);
+        league.simulateAllMatches();
+        games = league.getGames();
+        this.blackhole = blackhole;
+    }
+
+    @Benchmark
+    public long publishSeason() {
+        MatchFeed feed = new MatchFeed(Runnable::run, MatchFeed.DEFAULT_BATCH_GAMES);
+        for (int s = 0; s < subscribers; s++) {
+            feed.subscribe(new Flow.Subscriber<MatchFeed.Batch>() {
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) { subscription.request(Long.MAX_VALUE); }
+
+                @Override
+                public void onNext(MatchFeed.Batch batch) { blackhole.consume(batch.totalEvents()); }
+
+                @Override
+                public void onError(Throwable failure) { }
+
+                @Override
+                public void onComplete() { }
+            });
+        }
+        for (int i = 0; i < games.size(); i++) {
+            feed.played(games.get(i), i);
+        }
+        feed.batchEnd();
+        feed.close();
+        return feed.getDropped();
+    }
+}
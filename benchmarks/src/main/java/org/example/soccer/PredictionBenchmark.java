@@ -0,0 +1,59 @@
+package org.example.soccer;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// MatchModel batch prediction over a million rated fixtures, and one Elo update
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PredictionBenchmark {
+    private static final int FIXTURES = 1_000_000;
+
+    private final MatchModel model = MatchModel.STANDARD.withRatings(MatchModel.DEFAULT_K_FACTOR, 60);
+    private double[] home;
+    private double[] away;
+    private double[] homeWin;
+    private double[] draw;
+    private double[] awayWin;
+    private Team homeTeam;
+    private Team awayTeam;
+    private int round;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(BenchmarkLeagues.SEED);
+        home = new double[FIXTURES];
+        away = new double[FIXTURES];
+        for (int i = 0; i < FIXTURES; i++) {
+            home[i] = random.nextDouble(1100, 1900);
+            away[i] = random.nextDouble(1100, 1900);
+        }
+        homeWin = new double[FIXTURES];
+        draw = new double[FIXTURES];
+        awayWin = new double[FIXTURES];
+        League league = BenchmarkLeagues.league(2);
+        homeTeam = league.getTeams().get(0);
+        awayTeam = league.getTeams().get(1);
+    }
+
+    @Benchmark
+    public double[] predictMillion() {
+        model.predict(home, away, homeWin, draw, awayWin);
+        return homeWin;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public double rate() {
+        int r = round++;
+        model.rate(homeTeam, awayTeam, r & 3, r >> 2 & 3);
+        return homeTeam.getElo();
+    }
+}
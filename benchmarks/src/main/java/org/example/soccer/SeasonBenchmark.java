@@ -0,0 +1,44 @@
+package org.example.soccer;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Full round-robin simulation through League.simulateAllMatches()
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class SeasonBenchmark {
+    @Param({"20", "200", "2000"})
+    public int teams;
+
+    private League league;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        league = BenchmarkLeagues.league(teams);
+    }
+
+    // A played season has no fixtures left, so each invocation starts a fresh one; the reset
+    // is not measured
+    @Setup(Level.Invocation)
+    public void newSeason() {
+        league.resetSeason();
+        league.generateMatches();
+    }
+
+    @Benchmark
+    public League simulateSeason() {
+        league.simulateAllMatches();
+        return league;
+    }
+
+    @Benchmark
+    public League simulateSeasonParallel() {
+        league.simulateAllMatches(Runtime.getRuntime().availableProcessors());
+        return league;
+    }
+}
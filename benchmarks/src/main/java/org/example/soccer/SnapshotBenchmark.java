@@ -0,0 +1,47 @@
+package org.example.soccer;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// LeagueSnapshot save and load of a finished season; load leaves the events mapped
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class SnapshotBenchmark {
+    @Param({"20", "200", "2000"})
+    public int teams;
+
+    private League league;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        league = BenchmarkLeagues.league(teams);
+        league.simulateAllMatches();
+        file = Files.createTempFile("snapshot-benchmark", ".league");
+        LeagueSnapshot.save(league, file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Path save() throws IOException {
+        LeagueSnapshot.save(league, file);
+        return file;
+    }
+
+    @Benchmark
+    public League load() throws IOException {
+        return LeagueSnapshot.load(file);
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.soccer;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Standings maintenance after each result, as League.simulateNextMatch() does it
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StandingsBenchmark {
+    @Param({"20", "200", "2000"})
+    public int teams;
+
+    // Default tiebreakers, and a group-stage set whose tie groups need resolving
+    @Param({"gd,gf", "h2h,gd,gf,away,fair-play"})
+    public String rules;
+
+    private League league;
+    private Schedule schedule;
+    private int round;
+    private int match;
+    private Team home;
+    private Team away;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        league = BenchmarkLeagues.league(teams);
+        league.setTableRules(TableRules.parse(rules));
+        // Walk the fixture list straight from the schedule; team counts are even, so no byes
+        schedule = league.getSchedule();
+    }
+
+    // Record one more result for the next fixture's teams, then re-rank the whole table
+    @Benchmark
+    public League sortAfterMatch() {
+        recordNextResult();
+        league.sortTeamsByPoints();
+        return league;
+    }
+
+    // Same result, but only the two teams involved are re-positioned
+    @Benchmark
+    public League updateAfterMatch() {
+        recordNextResult();
+        league.getStandings().update(home);
+        league.getStandings().update(away);
+        return league;
+    }
+
+    private void recordNextResult() {
+        home = schedule.home(round, match);
+        away = schedule.away(round, match);
+        if (++match == schedule.getMatchesPerRound()) {
+            match = 0;
+            round = (round + 1) % schedule.getRounds();
+        }
+        home.recordWin(1, 0);
+        away.recordLoss(0, 1);
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.soccer;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// SimpleSoccerApp's refresh paths (scorer table, match events), driven into plain
+// observable lists so no FX toolkit is needed. Event benchmarks format one screenful of
+// rows, which is what the ListView's visible cells ask for.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UiRefreshBenchmark {
+    private static final int VISIBLE_ROWS = 40;
+
+    @Param({"20", "200"})
+    public int teams;
+
+    private League league;
+    private ObservableList<Player> scorerRows;
+    private int nextScorer;
+    private MatchEventsModel matchEvents;
+    private int nextGame;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        league = BenchmarkLeagues.league(teams);
+        league.simulateAllMatches();
+        scorerRows = FXCollections.observableArrayList(league.getTopScorers().asList());
+        league.getTopScorers().addListener(new TopScorers.Listener() {
+            @Override
+            public void moved(Player player, int from, int to) {
+                if (from >= 0) scorerRows.remove(from);
+                if (to >= 0) scorerRows.add(to, player);
+            }
+        });
+        matchEvents = new MatchEventsModel();
+    }
+
+    @Setup(Level.Iteration)
+    public void clearEvents() {
+        matchEvents.clear();
+        nextGame = 0;
+    }
+
+    // One goal re-ranks the scorer and updates the mirrored table rows
+    @Benchmark
+    public int scorerGoal() {
+        Player scorer = scorerRows.get(scorerRows.size() - 1 - nextScorer);
+        nextScorer = (nextScorer + 7) % scorerRows.size();
+        scorer.addGoal();
+        return league.getTopScorers().rankOf(scorer);
+    }
+
+    // "Play All Matches": the whole season replaces the list
+    @Benchmark
+    public int resetEvents() {
+        matchEvents.reset(league.getGames());
+        return renderVisible(0);
+    }
+
+    // "Play Next Match": one game is appended and the view scrolls to it
+    @Benchmark
+    public int appendMatch() {
+        int from = matchEvents.size();
+        matchEvents.append(league.getGames().get(nextGame));
+        nextGame = (nextGame + 1) % league.getGames().size();
+        return renderVisible(from);
+    }
+
+    private int renderVisible(int from) {
+        int chars = 0;
+        int to = Math.min(matchEvents.size(), from + VISIBLE_ROWS);
+        for (int row = from; row < to; row++) {
+            chars += MatchEventsModel.format(matchEvents.get(row)).length();
+        }
+        return chars;
+    }
+}
@@ -1,9 +1,10 @@
 module soccerApp {
     requires javafx.controls;
     requires javafx.fxml;
+    requires java.management;
+    requires jdk.management;
+    requires jdk.jfr;
 
     opens org.example.soccer to javafx.fxml;
     exports org.example.soccer;
-    exports;
-    opens to
 }
@@ -0,0 +1,69 @@
+package org.example.soccer;
+
+import jdk.jfr.*;
+
+// Flight Recorder events for the engine. While no recording has them enabled, begin() and
+// commit() compile to nothing and the event objects are never really allocated.
+// GameSimulated fires once per game, so it is off unless a recording asks for it, e.g.
+//   -XX:StartFlightRecording=settings=profile,+org.example.soccer.GameSimulated#enabled=true
+// (the +name syntax needs JDK 17; older JDKs turn it on in a .jfc file).
+// Loading the first event class starts the Flight Recorder machinery, a few hundred ms, so
+// call sites only create events once a recorder exists (see recording()).
+final class EngineEvents {
+    private EngineEvents() {
+    }
+
+    // True once a recording has been started, from the command line or later via jcmd
+    static boolean recording() { return FlightRecorder.isInitialized(); }
+
+    @Name("org.example.soccer.GameSimulated")
+    @Label("Game Simulated")
+    @Category("Soccer League")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class GameSimulated extends Event {
+        @Label("Home Team")
+        String homeTeam;
+        @Label("Away Team")
+        String awayTeam;
+        @Label("Events")
+        int events;
+    }
+
+    @Name("org.example.soccer.BatchSimulated")
+    @Label("Batch Simulated")
+    @Description("One simulateMatches or simulateAllMatches call")
+    @Category("Soccer League")
+    @StackTrace(false)
+    static final class BatchSimulated extends Event {
+        @Label("Games")
+        int games;
+        @Label("Events")
+        long events;
+        @Label("Parallelism")
+        int parallelism;
+    }
+
+    @Name("org.example.soccer.TableSorted")
+    @Label("Table Sorted")
+    @Description("Full re-rank of the standings and the top scorers")
+    @Category("Soccer League")
+    @StackTrace(false)
+    static final class TableSorted extends Event {
+        @Label("Teams")
+        int teams;
+        @Label("Players")
+        int players;
+    }
+
+    @Name("org.example.soccer.UiRefreshed")
+    @Label("UI Refreshed")
+    @Category("Soccer League")
+    @StackTrace(false)
+    static final class UiRefreshed extends Event {
+        @Label("View")
+        String view;
+        @Label("Games")
+        int games;
+    }
+}
@@ -0,0 +1,240 @@
+package org.example.soccer;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters and latency histograms for the engine, exposed over JMX (see registerMBean()).
+// Off unless started with -Dsoccer.metrics=true or switched on through the MBean: while off
+// an instrumented path costs one volatile read, while on a game costs two nanoTime() calls
+// and a few striped adds, so it is safe on the parallel path and in production builds.
+// Allocation per game is sampled once per batch from the simulating thread's allocation
+// counter. The Flight Recorder side is separate, see EngineEvents.
+public final class EngineMetrics {
+    public static final String OBJECT_NAME = "org.example.soccer:type=EngineMetrics";
+    static final long OFF = Long.MIN_VALUE;
+
+    private static volatile boolean enabled = Boolean.getBoolean("soccer.metrics");
+
+    private static final Histogram gameLatency = new Histogram();
+    private static final LongAdder eventsRecorded = new LongAdder();
+    private static final LongAdder batchGames = new LongAdder();
+    private static final LongAdder batchEvents = new LongAdder();
+    private static final LongAdder batchNanos = new LongAdder();
+    private static final LongAdder allocatedBytes = new LongAdder();
+    private static final LongAdder allocationGames = new LongAdder();
+    private static final Histogram tableSorts = new Histogram();
+    private static final Histogram uiRefreshes = new Histogram();
+
+    public interface MXBean {
+        boolean isEnabled();
+        void setEnabled(boolean enabled);
+        void reset();
+
+        long getGamesSimulated();
+        long getEventsRecorded();
+        // Throughput while a batch is running, not averaged over idle time
+        double getGamesPerSecond();
+        double getEventsPerSecond();
+        double getGameLatencyMeanMicros();
+        double getGameLatencyP50Micros();
+        double getGameLatencyP99Micros();
+        double getGameLatencyMaxMicros();
+        double getAllocatedBytesPerGame();
+
+        long getTableSorts();
+        double getTableSortMeanMillis();
+        double getTableSortMaxMillis();
+
+        long getUiRefreshes();
+        double getUiRefreshMeanMillis();
+        double getUiRefreshMaxMillis();
+    }
+
+    private EngineMetrics() {
+    }
+
+    public static boolean isEnabled() { return enabled; }
+    public static void setEnabled(boolean on) { enabled = on; }
+
+    public static void reset() {
+        gameLatency.reset();
+        eventsRecorded.reset();
+        batchGames.reset();
+        batchEvents.reset();
+        batchNanos.reset();
+        allocatedBytes.reset();
+        allocationGames.reset();
+        tableSorts.reset();
+        uiRefreshes.reset();
+    }
+
+    // Idempotent; the UI and the command line call it at startup
+    public static void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new StandardMBean(new Bean(), MXBean.class, true), name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+
+    // One line per metric, for logs and the command line
+    public static String summary() {
+        Bean bean = new Bean();
+        return String.format("games %,d (%,.0f/s while simulating), events %,d (%,.0f/s)%n"
+                        + "game latency mean %.2f us, p50 <= %.2f us, p99 <= %.2f us, max %.2f us%n"
+                        + "allocation %,.0f bytes/game%n"
+                        + "table sorts %,d, mean %.3f ms, max %.3f ms%n"
+                        + "ui refreshes %,d, mean %.3f ms, max %.3f ms",
+                bean.getGamesSimulated(), bean.getGamesPerSecond(), bean.getEventsRecorded(),
+                bean.getEventsPerSecond(), bean.getGameLatencyMeanMicros(), bean.getGameLatencyP50Micros(),
+                bean.getGameLatencyP99Micros(), bean.getGameLatencyMaxMicros(), bean.getAllocatedBytesPerGame(),
+                bean.getTableSorts(), bean.getTableSortMeanMillis(), bean.getTableSortMaxMillis(),
+                bean.getUiRefreshes(), bean.getUiRefreshMeanMillis(), bean.getUiRefreshMaxMillis());
+    }
+
+    // Recording: take start() before the work and pass it back after; OFF means skip
+
+    static long start() {
+        return enabled ? System.nanoTime() : OFF;
+    }
+
+    static void gameSimulated(long start, int events) {
+        if (start == OFF) return;
+        gameLatency.record(System.nanoTime() - start);
+        eventsRecorded.add(events);
+    }
+
+    static void batchSimulated(long start, int games, long events) {
+        if (start == OFF) return;
+        batchNanos.add(System.nanoTime() - start);
+        batchGames.add(games);
+        batchEvents.add(events);
+    }
+
+    static void tableSorted(long start) {
+        if (start != OFF) tableSorts.record(System.nanoTime() - start);
+    }
+
+    static void uiRefreshed(long start) {
+        if (start != OFF) uiRefreshes.record(System.nanoTime() - start);
+    }
+
+    // Bytes this thread has allocated so far, or OFF
+    static long allocated() {
+        return enabled ? Allocation.current() : OFF;
+    }
+
+    static void allocated(long before, int games) {
+        if (before == OFF || games == 0) return;
+        long after = Allocation.current();
+        if (after == OFF) return;
+        allocatedBytes.add(after - before);
+        allocationGames.add(games);
+    }
+
+    // Kept apart so java.management is only loaded once metrics are on
+    private static final class Allocation {
+        private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+        static long current() {
+            return THREADS == null ? OFF : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+
+        private static com.sun.management.ThreadMXBean threads() {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (!(threads instanceof com.sun.management.ThreadMXBean)) return null;
+            com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) threads;
+            return sun.isThreadAllocatedMemorySupported() && sun.isThreadAllocatedMemoryEnabled() ? sun : null;
+        }
+    }
+
+    // Log2 buckets of nanoseconds; a quantile is reported as its bucket's upper bound
+    private static final class Histogram {
+        private final LongAdder[] buckets = new LongAdder[64];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        Histogram() {
+            for (int b = 0; b < buckets.length; b++) {
+                buckets[b] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            nanos = Math.max(0, nanos);
+            buckets[63 - Long.numberOfLeadingZeros(nanos | 1)].increment();
+            count.increment();
+            total.add(nanos);
+            max.accumulate(nanos);
+        }
+
+        long count() { return count.sum(); }
+        long max() { return max.get(); }
+
+        double mean() {
+            long n = count.sum();
+            return n == 0 ? 0 : (double) total.sum() / n;
+        }
+
+        long quantile(double q) {
+            long n = count.sum();
+            long seen = 0;
+            for (int b = 0; b < buckets.length; b++) {
+                seen += buckets[b].sum();
+                if (seen > 0 && seen >= q * n) return b == 63 ? Long.MAX_VALUE : 2L << b;
+            }
+            return 0;
+        }
+
+        void reset() {
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+            count.reset();
+            total.reset();
+            max.reset();
+        }
+    }
+
+    private static final class Bean implements MXBean {
+        @Override public boolean isEnabled() { return EngineMetrics.isEnabled(); }
+        @Override public void setEnabled(boolean on) { EngineMetrics.setEnabled(on); }
+        @Override public void reset() { EngineMetrics.reset(); }
+
+        @Override public long getGamesSimulated() { return gameLatency.count(); }
+        @Override public long getEventsRecorded() { return eventsRecorded.sum(); }
+        @Override public double getGamesPerSecond() { return perSecond(batchGames.sum()); }
+        @Override public double getEventsPerSecond() { return perSecond(batchEvents.sum()); }
+        @Override public double getGameLatencyMeanMicros() { return gameLatency.mean() / 1e3; }
+        @Override public double getGameLatencyP50Micros() { return gameLatency.quantile(0.5) / 1e3; }
+        @Override public double getGameLatencyP99Micros() { return gameLatency.quantile(0.99) / 1e3; }
+        @Override public double getGameLatencyMaxMicros() { return gameLatency.max() / 1e3; }
+
+        @Override
+        public double getAllocatedBytesPerGame() {
+            long games = allocationGames.sum();
+            return games == 0 ? 0 : (double) allocatedBytes.sum() / games;
+        }
+
+        @Override public long getTableSorts() { return tableSorts.count(); }
+        @Override public double getTableSortMeanMillis() { return tableSorts.mean() / 1e6; }
+        @Override public double getTableSortMaxMillis() { return tableSorts.max() / 1e6; }
+
+        @Override public long getUiRefreshes() { return uiRefreshes.count(); }
+        @Override public double getUiRefreshMeanMillis() { return uiRefreshes.mean() / 1e6; }
+        @Override public double getUiRefreshMaxMillis() { return uiRefreshes.max() / 1e6; }
+
+        private static double perSecond(long count) {
+            long nanos = batchNanos.sum();
+            return nanos == 0 ? 0 : count * 1e9 / nanos;
+        }
+    }
+}
@@ -0,0 +1,472 @@
+package org.example.soccer;
+
+import java.util.*;
+
+// Secondary indexes over a league's season events (see EventStore) for queries such as a
+// player's goals, every game between two teams, or the cards after the 80th minute.
+// Each index is a set of posting lists of season event positions in play order: by team and
+// type, by player and type, by type and minute, plus each team's games. A query reads the
+// shortest lists that cover it and checks its other filters against the packed events, so it
+// costs the size of its answer rather than a walk over the season.
+// Built on the first League.getEventIndex() and brought up to date at the start of each query
+// by indexing only the games finished since. Replaced fixtures (a new season, a restored
+// snapshot) or a repacked store (a parallel run) rebuild it from scratch.
+// Not thread-safe: use it from the thread that plays the league's games, or through
+// LeagueManager.Entry.read() for a hosted league.
+public final class EventIndex {
+    private static final int TYPES = EventStore.POSSESSION + 1;
+    private static final int MINUTES = MatchFormat.MAX_MINUTES + 1;
+    private static final int ALL_TYPES = (1 << TYPES) - 1;
+    // Where a query's candidates come from
+    private static final int BY_MINUTE = 0;
+    private static final int BY_TEAM = 1;
+    private static final int BY_PLAYER = 2;
+    private static final int BY_PAIR = 3;
+    private static final int BULK_GAMES = 1024;
+
+    private final League league;
+    private EventStore store;
+    private StatsStore stats;
+    // Indexed games in play order, with the position of each one's first event
+    private Game[] games = new Game[16];
+    private int[] gameStart = new int[16];
+    private int[] homeIds = new int[16];
+    private int[] awayIds = new int[16];
+    private int gameCount;
+    private int lastMinute; // latest minute of any indexed event
+    private final Postings byTeam = new Postings();   // team id * TYPES + type
+    private final Postings byPlayer = new Postings(); // player id * TYPES + type
+    private final Postings byMinute = new Postings(); // type * MINUTES + minute
+    private final Postings teamGames = new Postings(); // team id: game numbers
+    private final Postings opponents = new Postings(); // team id: the other side of each of those
+
+    EventIndex(League league) {
+        this.league = league;
+    }
+
+    public Query query() { return new Query(); }
+
+    public int getIndexedGames() {
+        catchUp();
+        return gameCount;
+    }
+
+    // Played games between the two teams, either way round, in play order
+    public List<Game> headToHead(Team a, Team b) {
+        catchUp();
+        int[] found = pairGames(teamId(a), teamId(b));
+        List<Game> result = new ArrayList<>(found.length);
+        for (int g : found) {
+            result.add(games[g]);
+        }
+        return result;
+    }
+
+    // Filters for one query; everything left unset matches. Reusable: run it again after more
+    // games for the up-to-date answer
+    public final class Query {
+        private int types = ALL_TYPES;
+        private int team = -1;
+        private int player = -1;
+        private int pairA = -1;
+        private int pairB = -1;
+        private int fromMinute = 0;
+        private int toMinute = MINUTES - 1;
+
+        private Query() {
+        }
+
+        // Only these event types (EventStore.KICKOFF, GOAL, YELLOW_CARD, POSSESSION)
+        public Query types(int... eventTypes) {
+            int mask = 0;
+            for (int type : eventTypes) {
+                if (type < 0 || type >= TYPES) throw new IllegalArgumentException("Unknown event type: " + type);
+                mask |= 1 << type;
+            }
+            types = mask;
+            return this;
+        }
+
+        // Events credited to this team
+        public Query team(Team team) {
+            this.team = teamId(team);
+            return this;
+        }
+
+        public Query player(Player player) {
+            if (player.getStats() != league.getStats()) {
+                throw new IllegalArgumentException(player.getName() + " does not play in " + league.getName());
+            }
+            this.player = player.getId();
+            return this;
+        }
+
+        // Events of games between the two teams, either way round
+        public Query between(Team a, Team b) {
+            pairA = teamId(a);
+            pairB = teamId(b);
+            return this;
+        }
+
+        // Minutes from and to, both included
+        public Query minutes(int from, int to) {
+            if (from < 0 || to > MatchFormat.MAX_MINUTES || from > to) {
+                throw new IllegalArgumentException("Minutes must be a range within 0-" + MatchFormat.MAX_MINUTES
+                        + ": " + from + "-" + to);
+            }
+            fromMinute = from;
+            toMinute = to;
+            return this;
+        }
+
+        public Result run() {
+            catchUp();
+            return execute(this, false);
+        }
+
+        public int count() {
+            catchUp();
+            return execute(this, true).size;
+        }
+    }
+
+    // Matching events in play order. Positions are into the season store as of the query
+    // (League.getAllEvents() and getEventStore() use the same ones) and go stale with it
+    public final class Result {
+        private final int[] positions;
+        private final int size;
+        private final EventStore events;
+        private final StatsStore eventStats;
+
+        private Result(int[] positions, int size) {
+            this.positions = positions;
+            this.size = size;
+            this.events = store;
+            this.eventStats = stats;
+        }
+
+        public int size() { return size; }
+
+        public int position(int i) {
+            Objects.checkIndex(i, size);
+            return positions[i];
+        }
+
+        public long packed(int i) { return events.get(position(i)); }
+        public GameEvent event(int i) { return EventStore.decode(packed(i), eventStats); }
+        public Game game(int i) { return games[gameOf(position(i))]; }
+
+        // Decoded on access, like League.getAllEvents()
+        public List<GameEvent> asList() {
+            return new AbstractList<GameEvent>() {
+                @Override
+                public GameEvent get(int i) { return event(i); }
+
+                @Override
+                public int size() { return size; }
+            };
+        }
+    }
+
+    // Index whatever finished since the last query, or start over if the season moved under us
+    private void catchUp() {
+        List<Game> played = league.getGames();
+        int completed = league.getCompletedCount();
+        if (store != league.getEventStore() || stats != league.getStats() || completed < gameCount
+                || (gameCount > 0 && played.get(gameCount - 1) != games[gameCount - 1])) {
+            clear();
+        }
+        if (completed - gameCount >= BULK_GAMES) reserve(played, gameCount, completed);
+        for (int g = gameCount; g < completed; g++) {
+            add(played.get(g));
+        }
+    }
+
+    // Size the lists for a long catch-up in one go rather than by doubling: a counting pass
+    // over the events is cheaper than copying every list a few times
+    private void reserve(List<Game> played, int from, int to) {
+        for (int g = from; g < to; g++) {
+            Game game = played.get(g);
+            teamGames.expect(game.getHomeTeam().getId());
+            teamGames.expect(game.getAwayTeam().getId());
+            for (int position = game.getEventOffset(), end = position + game.getEventCount(); position < end; position++) {
+                long event = store.get(position);
+                int type = EventStore.type(event);
+                int player = EventStore.playerId(event);
+                byTeam.expect(EventStore.teamId(event) * TYPES + type);
+                if (player >= 0) byPlayer.expect(player * TYPES + type);
+                byMinute.expect(type * MINUTES + EventStore.minute(event));
+            }
+        }
+        opponents.expectAs(teamGames);
+        for (Postings postings : new Postings[] {byTeam, byPlayer, byMinute, teamGames, opponents}) {
+            postings.reserve();
+        }
+    }
+
+    private void clear() {
+        store = league.getEventStore();
+        stats = league.getStats();
+        Arrays.fill(games, 0, gameCount, null);
+        gameCount = 0;
+        lastMinute = 0;
+        byTeam.clear();
+        byPlayer.clear();
+        byMinute.clear();
+        teamGames.clear();
+        opponents.clear();
+    }
+
+    private void add(Game game) {
+        int g = gameCount++;
+        if (g == games.length) {
+            int capacity = g * 2;
+            games = Arrays.copyOf(games, capacity);
+            gameStart = Arrays.copyOf(gameStart, capacity);
+            homeIds = Arrays.copyOf(homeIds, capacity);
+            awayIds = Arrays.copyOf(awayIds, capacity);
+        }
+        int start = game.getEventOffset();
+        games[g] = game;
+        gameStart[g] = start;
+        homeIds[g] = game.getHomeTeam().getId();
+        awayIds[g] = game.getAwayTeam().getId();
+        teamGames.add(homeIds[g], g);
+        teamGames.add(awayIds[g], g);
+        opponents.add(homeIds[g], awayIds[g]);
+        opponents.add(awayIds[g], homeIds[g]);
+        for (int position = start, end = start + game.getEventCount(); position < end; position++) {
+            long event = store.get(position);
+            int type = EventStore.type(event);
+            int minute = EventStore.minute(event);
+            int player = EventStore.playerId(event);
+            byTeam.add(EventStore.teamId(event) * TYPES + type, position);
+            if (player >= 0) byPlayer.add(player * TYPES + type, position);
+            byMinute.add(type * MINUTES + minute, position);
+            lastMinute = Math.max(lastMinute, minute);
+        }
+    }
+
+    // Read the cheapest source that covers the query, then filter on whatever it does not cover
+    private Result execute(Query q, boolean countOnly) {
+        int toMinute = Math.min(q.toMinute, lastMinute);
+        int source = BY_MINUTE;
+        long best = 0;
+        for (int type = 0; type < TYPES; type++) {
+            if ((q.types & 1 << type) == 0) continue;
+            for (int minute = q.fromMinute; minute <= toMinute; minute++) {
+                best += byMinute.size(type * MINUTES + minute);
+            }
+        }
+        if (q.team >= 0 && listCost(byTeam, q.team, q.types) < best) {
+            source = BY_TEAM;
+            best = listCost(byTeam, q.team, q.types);
+        }
+        if (q.player >= 0 && listCost(byPlayer, q.player, q.types) < best) {
+            source = BY_PLAYER;
+            best = listCost(byPlayer, q.player, q.types);
+        }
+        int[] pair = null;
+        if (q.pairA >= 0) {
+            pair = pairGames(q.pairA, q.pairB);
+            long pairCost = 0;
+            for (int g : pair) {
+                pairCost += games[g].getEventCount();
+            }
+            if (pairCost < best) {
+                source = BY_PAIR;
+                best = pairCost;
+            }
+        }
+
+        // What the chosen source leaves to check per event
+        Filter filter = new Filter(q,
+                source == BY_PAIR && q.types != ALL_TYPES,
+                source != BY_TEAM && q.team >= 0,
+                source != BY_PLAYER && q.player >= 0,
+                source != BY_MINUTE && (q.fromMinute > 0 || q.toMinute < MINUTES - 1),
+                source != BY_PAIR && q.pairA >= 0);
+        if (countOnly && filter.none()) return new Result(null, (int) best);
+
+        int[] out = new int[(int) best];
+        int n = 0;
+        int lists = 0;
+        if (source == BY_PAIR) {
+            for (int g : pair) {
+                for (int position = gameStart[g], end = position + games[g].getEventCount(); position < end; position++) {
+                    if (filter.test(position)) out[n++] = position;
+                }
+            }
+        } else {
+            Postings postings = source == BY_PLAYER ? byPlayer : source == BY_TEAM ? byTeam : byMinute;
+            int id = source == BY_PLAYER ? q.player : q.team;
+            for (int type = 0; type < TYPES; type++) {
+                if ((q.types & 1 << type) == 0) continue;
+                int from = source == BY_MINUTE ? q.fromMinute : 0;
+                int to = source == BY_MINUTE ? toMinute : 0;
+                for (int minute = from; minute <= to; minute++) {
+                    int key = source == BY_MINUTE ? type * MINUTES + minute : id * TYPES + type;
+                    int size = postings.size(key);
+                    if (size == 0) continue;
+                    int[] list = postings.list(key);
+                    for (int i = 0; i < size; i++) {
+                        if (filter.test(list[i])) out[n++] = list[i];
+                    }
+                    lists++;
+                }
+            }
+        }
+        // Each list is in play order; several have to be merged
+        if (lists > 1 && !countOnly) Arrays.sort(out, 0, n);
+        return new Result(out, n);
+    }
+
+    private static long listCost(Postings lists, int id, int types) {
+        long cost = 0;
+        for (int type = 0; type < TYPES; type++) {
+            if ((types & 1 << type) != 0) cost += lists.size(id * TYPES + type);
+        }
+        return cost;
+    }
+
+    // Games between two teams, from whichever has played fewer
+    private int[] pairGames(int a, int b) {
+        int shorter = teamGames.size(a) <= teamGames.size(b) ? a : b;
+        int other = shorter == a ? b : a;
+        int size = teamGames.size(shorter);
+        int[] list = teamGames.list(shorter);
+        int[] against = opponents.list(shorter);
+        int[] found = new int[size];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            if (against[i] == other) found[n++] = list[i];
+        }
+        return Arrays.copyOf(found, n);
+    }
+
+    // Indexed game holding an event position
+    private int gameOf(int position) {
+        int low = 0;
+        int high = gameCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (gameStart[mid] <= position) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private int teamId(Team team) {
+        if (team.getStats() != league.getStats()) {
+            throw new IllegalArgumentException(team.getName() + " does not play in " + league.getName());
+        }
+        return team.getId();
+    }
+
+    // The per-event checks a query's source does not already guarantee
+    private final class Filter {
+        private final Query q;
+        private final boolean type;
+        private final boolean team;
+        private final boolean player;
+        private final boolean minute;
+        private final boolean pair;
+
+        Filter(Query q, boolean type, boolean team, boolean player, boolean minute, boolean pair) {
+            this.q = q;
+            this.type = type;
+            this.team = team;
+            this.player = player;
+            this.minute = minute;
+            this.pair = pair;
+        }
+
+        boolean none() { return !(type || team || player || minute || pair); }
+
+        boolean test(int position) {
+            if (none()) return true;
+            long event = store.get(position);
+            if (type && (q.types & 1 << EventStore.type(event)) == 0) return false;
+            if (team && EventStore.teamId(event) != q.team) return false;
+            if (player && EventStore.playerId(event) != q.player) return false;
+            if (minute) {
+                int at = EventStore.minute(event);
+                if (at < q.fromMinute || at > q.toMinute) return false;
+            }
+            if (pair) {
+                int g = gameOf(position);
+                return homeIds[g] == q.pairA && awayIds[g] == q.pairB || homeIds[g] == q.pairB && awayIds[g] == q.pairA;
+            }
+            return true;
+        }
+    }
+
+    // Growable int lists by key
+    private static final class Postings {
+        private int[][] lists;
+        private int[] sizes;
+        private int[] expected; // values announced for a bulk catch-up, see reserve()
+
+        Postings() {
+            clear();
+        }
+
+        void add(int key, int value) {
+            if (key >= lists.length) grow(key);
+            int[] list = lists[key];
+            int size = sizes[key];
+            if (list == null) {
+                list = lists[key] = new int[4];
+            } else if (size == list.length) {
+                list = lists[key] = Arrays.copyOf(list, size * 2);
+            }
+            list[size] = value;
+            sizes[key] = size + 1;
+        }
+
+        int size(int key) { return key < sizes.length ? sizes[key] : 0; }
+        int[] list(int key) { return key < lists.length ? lists[key] : null; }
+
+        void expect(int key) {
+            if (key >= lists.length) grow(key);
+            expected[key]++;
+        }
+
+        // Same announcements as another set of lists with the same keys
+        void expectAs(Postings other) {
+            if (other.lists.length > lists.length) grow(other.lists.length - 1);
+            System.arraycopy(other.expected, 0, expected, 0, other.expected.length);
+        }
+
+        // Make room for everything expected since the last call
+        void reserve() {
+            for (int key = 0; key < expected.length; key++) {
+                if (expected[key] == 0) continue;
+                int needed = sizes[key] + expected[key];
+                int[] list = lists[key];
+                if (list == null) {
+                    lists[key] = new int[needed];
+                } else if (list.length < needed) {
+                    lists[key] = Arrays.copyOf(list, needed);
+                }
+                expected[key] = 0;
+            }
+        }
+
+        void clear() {
+            lists = new int[64][];
+            sizes = new int[64];
+            expected = new int[64];
+        }
+
+        private void grow(int key) {
+            int capacity = Math.max(key + 1, lists.length * 2);
+            lists = Arrays.copyOf(lists, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+            expected = Arrays.copyOf(expected, capacity);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package org.example.soccer;
+
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+// Columnar match event storage: one packed long per event instead of a GameEvent object.
+//   bits 62-63  type (KICKOFF, GOAL, YELLOW_CARD, POSSESSION)
+//   bit  61     side (0 = home, 1 = away)
+//   bits 51-60  minute (0-1023)
+//   bits 29-50  team id (22 bits)
+//   bits  0-28  player id (29 bits, all ones when the event has no player)
+// Longs live in fixed-size pages so growing a season-sized store never copies it.
+// GameEvent objects are only created on demand by decode().
+// A store read back from a snapshot starts out mapped: each page is copied out of the
+// file the first time something touches it.
+public final class EventStore {
+    public static final int KICKOFF = 0;
+    public static final int GOAL = 1;
+    public static final int YELLOW_CARD = 2;
+    public static final int POSSESSION = 3;
+
+    static final int NO_PLAYER = (1 << 29) - 1;
+    private static final int PAGE_BITS = 16;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private long[][] pages;
+    private int size;
+    private LongBuffer mapped; // snapshot events not copied into pages yet
+    private int mappedSize;
+    private int unloadedPages;
+
+    public EventStore() {
+        this(16);
+    }
+
+    public EventStore(int initialCapacity) {
+        pages = new long[1][];
+        pages[0] = new long[Math.max(1, Math.min(initialCapacity, PAGE_SIZE))];
+    }
+
+    // Store over events mapped from a snapshot (see LeagueSnapshot)
+    static EventStore mapped(LongBuffer events) {
+        EventStore store = new EventStore(1);
+        int size = events.remaining();
+        int pageCount = (size + PAGE_SIZE - 1) >>> PAGE_BITS;
+        store.pages = new long[Math.max(1, pageCount)][];
+        store.size = size;
+        store.mapped = events;
+        store.mappedSize = size;
+        store.unloadedPages = pageCount;
+        if (pageCount == 0) store.pages[0] = new long[1];
+        return store;
+    }
+
+    public int size() { return size; }
+
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Event " + index + " of " + size);
+        }
+        long[] page = pages[index >>> PAGE_BITS];
+        if (page == null) page = loadPage(index >>> PAGE_BITS);
+        return page[index & PAGE_MASK];
+    }
+
+    public void append(long event) {
+        int page = size >>> PAGE_BITS;
+        int slot = size & PAGE_MASK;
+        if (page == pages.length) {
+            pages = Arrays.copyOf(pages, pages.length * 2);
+        }
+        if (pages[page] == null) {
+            if (mapped != null && page << PAGE_BITS < mappedSize) {
+                loadPage(page);
+            } else {
+                pages[page] = new long[PAGE_SIZE];
+            }
+        } else if (slot == pages[page].length) {
+            // Only the first page grows, and only until it is full size
+            pages[page] = Arrays.copyOf(pages[page], Math.min(PAGE_SIZE, slot * 2));
+        }
+        pages[page][slot] = event;
+        size++;
+    }
+
+    // Copy a range of another store onto the end of this one; returns where it starts here
+    public int appendAll(EventStore from, int offset, int count) {
+        int start = size;
+        for (int i = 0; i < count; i++) {
+            append(from.get(offset + i));
+        }
+        return start;
+    }
+
+    // Bulk copy of [from, from + count) into a buffer
+    void copyTo(int from, LongBuffer out, int count) {
+        Objects.checkFromIndexSize(from, count, size);
+        while (count > 0) {
+            int page = from >>> PAGE_BITS;
+            int slot = from & PAGE_MASK;
+            int n = Math.min(count, PAGE_SIZE - slot);
+            long[] data = pages[page] != null ? pages[page] : loadPage(page);
+            out.put(data, slot, n);
+            from += n;
+            count -= n;
+        }
+    }
+
+    public void clear() {
+        size = 0;
+        mapped = null; // pages never loaded are allocated afresh if appends reach them
+    }
+
+    private long[] loadPage(int page) {
+        long[] data = new long[PAGE_SIZE];
+        int from = page << PAGE_BITS;
+        LongBuffer source = mapped.duplicate();
+        source.position(from);
+        source.get(data, 0, Math.min(PAGE_SIZE, mappedSize - from));
+        pages[page] = data;
+        if (--unloadedPages == 0) mapped = null; // let the file mapping go
+        return data;
+    }
+
+    // Packing
+
+    public static long pack(int type, boolean away, int minute, int teamId, int playerId) {
+        return ((long) type << 62)
+                | (away ? 1L << 61 : 0L)
+                | ((long) (minute & 0x3FF) << 51)
+                | ((long) (teamId & 0x3FFFFF) << 29)
+                | (playerId & NO_PLAYER);
+    }
+
+    public static int type(long event) { return (int) (event >>> 62); }
+    public static boolean isAway(long event) { return ((event >>> 61) & 1L) != 0; }
+    public static int minute(long event) { return (int) ((event >>> 51) & 0x3FF); }
+    public static int teamId(long event) { return (int) ((event >>> 29) & 0x3FFFFF); }
+
+    public static int playerId(long event) {
+        int player = (int) (event & NO_PLAYER);
+        return player == NO_PLAYER ? -1 : player;
+    }
+
+    // Build the GameEvent view of a packed event; the player is resolved in the team's own store
+    public static GameEvent decode(long event, Team team) {
+        int minute = minute(event);
+        int playerId = playerId(event);
+        Player player = playerId < 0 ? null : team.getStats().player(playerId);
+        switch (type(event)) {
+            case KICKOFF:
+                return new Kickoff(minute, team);
+            case GOAL:
+                return new Goal(minute, team, player);
+            case YELLOW_CARD:
+                return new YellowCard(minute, team, player);
+            default:
+                return new Possession(minute, team, player);
+        }
+    }
+
+    // Decode inside a game, where the side bit picks the team
+    public static GameEvent decode(long event, Team homeTeam, Team awayTeam) {
+        return decode(event, isAway(event) ? awayTeam : homeTeam);
+    }
+
+    // Decode against a league's stats store, which resolves the team id
+    public static GameEvent decode(long event, StatsStore stats) {
+        return decode(event, stats.team(teamId(event)));
+    }
+}
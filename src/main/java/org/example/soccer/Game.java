@@ -1,77 +1,208 @@
 package org.example.soccer;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class Game {
+    // Chance of each event in any one minute; a minute has at most one
+    static final double GOAL_CHANCE = 0.02;
+    static final double CARD_CHANCE = 0.03;
+    static final double POSSESSION_CHANCE = 0.10;
+    private static final double EVENT_CHANCE = GOAL_CHANCE + CARD_CHANCE + POSSESSION_CHANCE;
+    // Minutes to the next event are geometric: 1 + floor(ln(u) / ln(1 - EVENT_CHANCE))
+    private static final double GAP_SCALE = 1 / Math.log1p(-EVENT_CHANCE);
+
     private Team homeTeam;
     private Team awayTeam;
     private int homeScore;
     private int awayScore;
-    private List<GameEvent> events;
+    private EventStore eventStore; // events live in [eventOffset, eventOffset + eventCount)
+    private int eventOffset;
+    private int eventCount;
     private boolean finished;
+    private final int index;
 
     public Game(Team homeTeam, Team awayTeam) {
+        this(homeTeam, awayTeam, 0);
+    }
+
+    // index is the fixture's position in the season and keys its random stream
+    public Game(Team homeTeam, Team awayTeam, int index) {
+        this.index = index;
         this.homeTeam = homeTeam;
         this.awayTeam = awayTeam;
         this.homeScore = 0;
         this.awayScore = 0;
-        this.events = new ArrayList<>();
         this.finished = false;
     }
 
     // Getters
-    public List<GameEvent> getEvents() { return events; }
+    public Team getHomeTeam() { return homeTeam; }
+    public Team getAwayTeam() { return awayTeam; }
+    public int getHomeScore() { return homeScore; }
+    public int getAwayScore() { return awayScore; }
+    public int getIndex() { return index; }
+    public int getEventCount() { return eventCount; }
+    public List<GameEvent> getEvents() { return new EventView(); }
     public boolean isFinished() { return finished; }
 
+    // Packed form of one of this game's events, see EventStore
+    public long getPackedEvent(int i) {
+        Objects.checkIndex(i, eventCount);
+        return eventStore.get(eventOffset + i);
+    }
+
     public String getResult() {
         return homeTeam.getName() + " " + homeScore + " - " + awayScore + " " + awayTeam.getName();
     }
 
+    // Unseeded run, for games played outside a league
     public void simulate() {
-        events.clear();
-        homeScore = 0;
-        awayScore = 0;
+        RandomSource random = new SplitMixRandom();
+        random.reset(ThreadLocalRandom.current().nextLong(), index);
+        simulate(random);
+    }
+
+    public void simulate(RandomSource random) {
+        simulate(random, new EventStore());
+    }
+
+    // Play the game from the given stream, appending its events to the given store;
+    // the caller positions the stream (see League)
+    public void simulate(RandomSource random, EventStore events) {
+        simulate(random, events, MatchModel.STANDARD);
+    }
 
-        Random random = new Random();
+    // Rather than drawing for every minute, jump straight from one event to the next: the
+    // gaps of a per-minute Bernoulli process are geometric, and which event it is and for which
+    // side come from one more draw, so a game costs about three draws per event instead of one
+    // per minute, with the same mix of goals, cards and possessions. Goals go to a side by the
+    // teams' ratings (see MatchModel), which the result then updates
+    public void simulate(RandomSource random, EventStore events, MatchModel model) {
+        long start = EngineMetrics.start();
+        EngineEvents.GameSimulated event = EngineEvents.recording() ? new EngineEvents.GameSimulated() : null;
+        if (event != null) event.begin();
+        eventStore = events;
+        eventOffset = events.size();
+        draw(random, events, model, true);
+        eventCount = events.size() - eventOffset;
+        updateTeamStats();
+        updatePlayerStats();
+        model.rate(homeTeam, awayTeam, homeScore, awayScore);
+        finished = true;
+
+        EngineMetrics.gameSimulated(start, eventCount);
+        if (event != null && event.shouldCommit()) {
+            event.homeTeam = homeTeam.getName();
+            event.awayTeam = awayTeam.getName();
+            event.events = eventCount;
+            event.commit();
+        }
+    }
+
+    // The events simulate() would play from the given stream, appended to the store, with no
+    // stats, score or player goals touched: a live match (see LiveMatches) reveals them over
+    // time and hands the result in at the final whistle. Returns the last minute of the game
+    int preview(RandomSource random, EventStore events, MatchModel model) {
+        return draw(random, events, model, false);
+    }
 
+    // One game's events; play also counts the goals into the score and the scorers
+    private int draw(RandomSource random, EventStore events, MatchModel model, boolean play) {
+        int homeGoals = 0;
+        int awayGoals = 0;
         Team kickoffTeam = random.nextBoolean() ? homeTeam : awayTeam;
-        events.add(new Kickoff(0, kickoffTeam));
-
-        for (int minute = 1; minute <= 90; minute++) {
-            double eventChance = random.nextDouble();
-
-            if (eventChance < 0.02) { // 2% chance of goal
-                Team scoringTeam = random.nextBoolean() ? homeTeam : awayTeam;
-                Player scorer = scoringTeam.getRandomPlayer();
-                if (scorer != null) {
-                    events.add(new Goal(minute, scoringTeam, scorer));
-                    scorer.addGoal();
-                    if (scoringTeam == homeTeam) {
-                        homeScore++;
-                    } else {
-                        awayScore++;
-                    }
-                }
-            } else if (eventChance < 0.05) { // 3% chance of yellow card
-                Team cardTeam = random.nextBoolean() ? homeTeam : awayTeam;
-                Player cardPlayer = cardTeam.getRandomPlayer();
-                if (cardPlayer != null) {
-                    events.add(new YellowCard(minute, cardTeam, cardPlayer));
-                }
-            } else if (eventChance < 0.15) { // 10% chance of possession change
-                Team possessionTeam = random.nextBoolean() ? homeTeam : awayTeam;
-                Player possessionPlayer = possessionTeam.getRandomPlayer();
-                if (possessionPlayer != null) {
-                    events.add(new Possession(minute, possessionTeam, possessionPlayer));
+        record(events, EventStore.KICKOFF, 0, kickoffTeam, null);
+
+        MatchFormat format = model.getFormat();
+        double homeGoalShare = model.homeGoalShare(homeTeam.getElo(), awayTeam.getElo());
+        int lastMinute = format.getMinutes();
+        if (format.getMaxStoppage() > 0) lastMinute += random.nextInt(format.getMaxStoppage() + 1);
+        for (int minute = nextGap(random); minute <= lastMinute; minute += nextGap(random)) {
+            // The top 53 bits pick the event as the old per-minute draw did, the lowest bit the
+            // side of a card or possession; a goal's side takes a draw of its own
+            long bits = random.nextLong();
+            double kind = (bits >>> 11) * 0x1.0p-53 * EVENT_CHANCE;
+            int type = kind < GOAL_CHANCE ? EventStore.GOAL
+                    : kind < GOAL_CHANCE + CARD_CHANCE ? EventStore.YELLOW_CARD : EventStore.POSSESSION;
+            boolean home = type == EventStore.GOAL ? random.nextDouble() < homeGoalShare : (bits & 1) == 0;
+            Team team = home ? homeTeam : awayTeam;
+            Player player = team.getRandomPlayer(random, type);
+            if (player == null) continue;
+
+            record(events, type, minute, team, player);
+            if (type == EventStore.GOAL) {
+                if (play) player.addGoal();
+                if (team == homeTeam) {
+                    homeGoals++;
+                } else {
+                    awayGoals++;
                 }
+            } else if (type == EventStore.YELLOW_CARD && play) {
+                team.addYellowCard();
             }
         }
+        if (play) {
+            homeScore = homeGoals;
+            awayScore = awayGoals;
+        }
+        return lastMinute;
+    }
 
+    // Take a result recorded elsewhere (see MatchJournal): its events are appended to the
+    // given store and the stats are updated exactly as simulate() would have
+    void replay(int homeScore, int awayScore, EventStore events, long[] packedEvents, int count) {
+        eventStore = events;
+        eventOffset = events.size();
+        eventCount = count;
+        this.homeScore = homeScore;
+        this.awayScore = awayScore;
+        for (int i = 0; i < count; i++) {
+            long event = packedEvents[i];
+            events.append(event);
+            Team team = EventStore.isAway(event) ? awayTeam : homeTeam;
+            if (EventStore.type(event) == EventStore.GOAL) {
+                team.getStats().addGoal(EventStore.playerId(event));
+            } else if (EventStore.type(event) == EventStore.YELLOW_CARD) {
+                team.addYellowCard();
+            }
+        }
         updateTeamStats();
         updatePlayerStats();
         finished = true;
     }
 
+    // Minutes from one event to the next, at least 1
+    private static int nextGap(RandomSource random) {
+        return 1 + (int) (Math.log(1 - random.nextDouble()) * GAP_SCALE);
+    }
+
+    private void record(EventStore events, int type, int minute, Team team, Player player) {
+        events.append(EventStore.pack(type, team == awayTeam, minute, team.getId(),
+                player == null ? EventStore.NO_PLAYER : player.getId()));
+    }
+
+    // Where this game's events live, for bulk copies (see LeagueSnapshot)
+    EventStore getEventStore() { return eventStore; }
+    int getEventOffset() { return eventOffset; }
+
+    // Mark the game played with a result read back from a snapshot
+    void restore(int homeScore, int awayScore, EventStore events, int offset, int count) {
+        this.homeScore = homeScore;
+        this.awayScore = awayScore;
+        this.eventStore = events;
+        this.eventOffset = offset;
+        this.eventCount = count;
+        this.finished = true;
+    }
+
+    // Copy this game's events onto the end of another store and read them from there
+    void moveEventsTo(EventStore target) {
+        if (eventStore == null) return;
+        eventOffset = target.appendAll(eventStore, eventOffset, eventCount);
+        eventStore = target;
+    }
+
     private void updateTeamStats() {
         if (homeScore > awayScore) {
             homeTeam.recordWin(homeScore, awayScore);
@@ -83,6 +214,20 @@ public class Game {
             homeTeam.recordDraw(homeScore, awayScore);
             awayTeam.recordDraw(awayScore, homeScore);
         }
+        awayTeam.recordAwayGoals(awayScore);
+    }
+
+    // GameEvent objects are decoded on access and never stored
+    private final class EventView extends AbstractList<GameEvent> {
+        @Override
+        public GameEvent get(int i) {
+            return EventStore.decode(getPackedEvent(i), homeTeam, awayTeam);
+        }
+
+        @Override
+        public int size() {
+            return eventCount;
+        }
     }
 
     private void updatePlayerStats() {
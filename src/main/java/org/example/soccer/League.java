@@ -1,102 +1,495 @@
 package org.example.soccer;
 
-import javafx.collections.*;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 public class League {
+    public interface ResultListener {
+        // A game was played; sequence is its 0-based position in play order. Called on the
+        // simulating thread, in that order
+        void played(Game game, int sequence);
+
+        // The results of one simulateNextMatch/simulateAllMatches call are all reported
+        default void batchEnd() {
+        }
+    }
+
     private String name;
-    private ObservableList<Team> teams;
-    private ObservableList<Game> games;
-    private ObservableList<GameEvent> allEvents;
+    private Standings standings;
+    private TopScorers scorers;
+    private List<Game> games;
+    private List<Game> gamesView;
+    // Fixtures are played in order, so [0, nextFixture) are finished and the rest are pending;
+    // it doubles as the completed count
+    private int nextFixture;
+    // Games were played with the scorers detached and the table has not been re-ranked since
+    private boolean unranked;
+    // Rounds before nextRound have been turned into games; later ones exist only in the schedule
+    private Schedule schedule;
+    private int nextRound;
+    // Slots of removed teams, and how many of the unscheduled fixtures they knock out
+    private boolean[] droppedSlots;
+    private int droppedAhead;
+    private List<GameEvent> allEvents;
+    private StatsStore stats;
+    private EventStore events;
+    private EventIndex eventIndex;
+    private long seed;
+    private MatchModel model = MatchModel.STANDARD;
+    private Supplier<RandomSource> randomSources;
+    private RandomSource random;
+    private final List<ResultListener> resultListeners = new ArrayList<>();
 
     public League(String name) {
         this.name = name;
-        this.teams = FXCollections.observableArrayList();
-        this.games = FXCollections.observableArrayList();
-        this.allEvents = FXCollections.observableArrayList();
+        this.standings = new Standings(() -> games.subList(0, nextFixture));
+        this.games = new ArrayList<>();
+        this.gamesView = Collections.unmodifiableList(games);
+        this.allEvents = new AllEvents();
+        this.scorers = new TopScorers();
+        this.stats = new StatsStore();
+        this.stats.trackScorers(scorers);
+        this.events = new EventStore(1024);
+        this.seed = ThreadLocalRandom.current().nextLong();
+        this.randomSources = SplitMixRandom::new;
+        this.random = randomSources.get();
     }
 
     public String getName() { return name; }
-    public ObservableList<Team> getTeams() { return teams; }
-    public ObservableList<Game> getGames() { return games; }
-    public ObservableList<GameEvent> getAllEvents() { return allEvents; }
+    // Teams in table order (read-only; add and remove through the league)
+    public List<Team> getTeams() { return standings.asList(); }
+    public Standings getStandings() { return standings; }
+    public TopScorers getTopScorers() { return scorers; }
+    // Fixtures scheduled so far, in season order: the played ones and the current round
+    // (read-only; change them through the league)
+    public List<Game> getGames() { return gamesView; }
+    public Schedule getSchedule() { return schedule; }
+    public int getCompletedCount() { return nextFixture; }
+
+    public int getRemainingCount() {
+        int unscheduled = schedule == null ? 0 : (schedule.getRounds() - nextRound) * schedule.getFixturesPerRound();
+        return games.size() - nextFixture + unscheduled - droppedAhead;
+    }
+
+    public Game getNextMatch() {
+        while (nextFixture == games.size() && scheduleNextRound()) {
+            // a round can be empty once teams have been removed
+        }
+        return nextFixture < games.size() ? games.get(nextFixture) : null;
+    }
+    public List<GameEvent> getAllEvents() { return allEvents; }
+    public StatsStore getStats() { return stats; }
+    public EventStore getEventStore() { return events; }
+
+    // Indexed queries over the season's events; built on the first call and kept up to date
+    // as games finish (see EventIndex)
+    public EventIndex getEventIndex() {
+        if (eventIndex == null) eventIndex = new EventIndex(this);
+        return eventIndex;
+    }
+    public long getSeed() { return seed; }
+
+    // Same seed and fixtures give the same season, at any parallelism
+    public void setSeed(long seed) { this.seed = seed; }
+
+    public MatchFormat getMatchFormat() { return model.getFormat(); }
+    public MatchModel getMatchModel() { return model; }
+    // Both apply to games played from now on
+    public void setMatchFormat(MatchFormat format) { model = model.withFormat(Objects.requireNonNull(format)); }
+    public void setMatchModel(MatchModel model) { this.model = Objects.requireNonNull(model); }
+
+    // How teams level on points are separated; the table re-ranks at once
+    public TableRules getTableRules() { return standings.getRules(); }
+    public void setTableRules(TableRules rules) { standings.setRules(rules); }
+
+    // Win, draw and loss chances for any games between teams of this league, at their
+    // current ratings (see MatchModel.predict for raw rating arrays)
+    public MatchModel.Predictions predict(List<Game> fixtures) { return model.predict(fixtures); }
+
+    public void addResultListener(ResultListener listener) { resultListeners.add(listener); }
+    public void removeResultListener(ResultListener listener) { resultListeners.remove(listener); }
+
+    public void setRandomSource(Supplier<RandomSource> randomSources) {
+        this.randomSources = randomSources;
+        this.random = randomSources.get();
+    }
 
     public void addTeam(Team team) {
-        teams.add(team);
+        team.moveTo(stats);
+        standings.add(team);
+    }
+
+    // Bulk add: squads move in with the scorers detached, then the table and the scorers each
+    // report a single reorder. Fixtures are left alone; call generateMatches() once afterwards
+    public void addTeams(Collection<Team> added) {
+        StatsStore target = beginBulkAdd();
+        for (Team team : added) {
+            team.moveTo(target);
+        }
+        endBulkAdd(added);
+    }
+
+    // Teams and players created straight in the returned store until endBulkAdd() (see
+    // RosterImporter) join without a notification each
+    StatsStore beginBulkAdd() {
+        stats.trackScorers(null);
+        return stats;
+    }
+
+    void endBulkAdd(Collection<Team> added) {
+        standings.addAll(added);
+        List<Player> players = new ArrayList<>();
+        for (Team team : getTeams()) {
+            players.addAll(team.getPlayers());
+        }
+        stats.trackScorers(scorers);
+        scorers.reset(players, stats);
     }
 
+    // The team keeps its id in the stats store, so packed events that mention it still decode
+    // Its played games stay in the history; its pending fixtures are dropped
     public void removeTeam(Team team) {
-        teams.remove(team);
+        if (!standings.contains(team)) return;
+        standings.remove(team);
+        for (Player player : team.getPlayers()) {
+            scorers.remove(player);
+        }
+        int kept = nextFixture;
+        for (int i = nextFixture; i < games.size(); i++) {
+            Game game = games.get(i);
+            if (game.getHomeTeam() != team && game.getAwayTeam() != team) {
+                games.set(kept++, game);
+            }
+        }
+        games.subList(kept, games.size()).clear();
+        dropFromSchedule(team);
+    }
+
+    // Skip the team's fixtures in rounds not scheduled yet, counting those that were still live
+    private void dropFromSchedule(Team team) {
+        int slot = schedule == null ? -1 : schedule.slotOf(team);
+        if (slot < 0 || droppedSlots[slot]) return;
+        droppedSlots[slot] = true;
+        for (int round = nextRound; round < schedule.getRounds(); round++) {
+            int opponent = schedule.opponentSlot(round, slot);
+            if (schedule.team(opponent) != null && !droppedSlots[opponent]) droppedAhead++;
+        }
     }
 
-    // Generate all possible matches (round-robin)
+    public void clear() {
+        standings.clear();
+        clearFixtures();
+        scorers.clear();
+        stats = new StatsStore();
+        stats.trackScorers(scorers);
+        events = new EventStore(1024);
+    }
+
+    // Single round-robin over the current table
     public void generateMatches() {
-        games.clear();
-        for (int i = 0; i < teams.size(); i++) {
-            for (int j = i + 1; j < teams.size(); j++) {
-                games.add(new Game(teams.get(i), teams.get(j)));
+        generateMatches(false);
+    }
+
+    // Round-robin over the current table; games are created a round at a time as play
+    // reaches them, so starting a season costs nothing per fixture
+    public void generateMatches(boolean doubleRoundRobin) {
+        clearFixtures();
+        schedule = new Schedule(getTeams(), doubleRoundRobin);
+        droppedSlots = new boolean[2 * schedule.getMatchesPerRound()];
+    }
+
+    // Turn the next round into games, leaving out byes and removed teams
+    private boolean scheduleNextRound() {
+        if (schedule == null || nextRound == schedule.getRounds()) return false;
+        for (int match = 0; match < schedule.getMatchesPerRound(); match++) {
+            int home = schedule.homeSlot(nextRound, match);
+            int away = schedule.awaySlot(nextRound, match);
+            if (schedule.team(home) == null || schedule.team(away) == null) continue;
+            if (droppedSlots[home] || droppedSlots[away]) {
+                droppedAhead--;
+                continue;
+            }
+            games.add(new Game(schedule.team(home), schedule.team(away), schedule.index(nextRound, match)));
+        }
+        nextRound++;
+        return true;
+    }
+
+    // Pending fixtures in order, including rounds that are not games yet
+    public void forEachPendingFixture(BiConsumer<Team, Team> action) {
+        for (int i = nextFixture; i < games.size(); i++) {
+            action.accept(games.get(i).getHomeTeam(), games.get(i).getAwayTeam());
+        }
+        if (schedule == null) return;
+        for (int round = nextRound; round < schedule.getRounds(); round++) {
+            for (int match = 0; match < schedule.getMatchesPerRound(); match++) {
+                int home = schedule.homeSlot(round, match);
+                int away = schedule.awaySlot(round, match);
+                if (schedule.team(home) == null || schedule.team(away) == null) continue;
+                if (droppedSlots[home] || droppedSlots[away]) continue;
+                action.accept(schedule.team(home), schedule.team(away));
             }
         }
     }
 
-    // Simulate all matches
+    // Play every remaining fixture
     public void simulateAllMatches() {
-        allEvents.clear();
-        for (Game game : games) {
-            game.simulate();
-            allEvents.addAll(game.getEvents());
+        simulateMatches(Integer.MAX_VALUE);
+    }
+
+    // Play up to count of the remaining fixtures as one bulk batch; returns how many were
+    // played. Results, the table and the scorers match playing them one at a time
+    public int simulateMatches(int count) {
+        return playBatch(count, true);
+    }
+
+    // As simulateMatches(), but the table and the scorers stay as they were until
+    // rankIfStale(): runners that play a season in slices (SeasonRun, LeagueManager) only
+    // re-rank when someone looks or the run ends, not after every slice
+    int simulateMatchesUnranked(int count) {
+        return playBatch(count, false);
+    }
+
+    void rankIfStale() {
+        if (unranked) sortTeamsByPoints();
+    }
+
+    private int playBatch(int count, boolean rank) {
+        int first = nextFixture;
+        while (games.size() - first < count && scheduleNextRound()) {
+            // schedule just the rounds this batch reaches
+        }
+        int end = first + Math.min(count, games.size() - first);
+        long start = EngineMetrics.start();
+        long allocated = EngineMetrics.allocated();
+        EngineEvents.BatchSimulated event = EngineEvents.recording() ? new EngineEvents.BatchSimulated() : null;
+        if (event != null) event.begin();
+        int eventsBefore = events.size();
+        stats.trackScorers(null);
+        for (int i = first; i < end; i++) {
+            play(games.get(i), random);
+        }
+        nextFixture = end;
+        EngineMetrics.allocated(allocated, end - first);
+        EngineMetrics.batchSimulated(start, end - first, events.size() - eventsBefore);
+        commit(event, end - first, events.size() - eventsBefore, 1);
+        unranked = true;
+        if (rank) sortTeamsByPoints();
+        reportPlayed(first);
+        return end - first;
+    }
+
+    // Simulate all matches matchday by matchday on the given number of threads;
+    // events and standings come out in the same order as the sequential run
+    public void simulateAllMatches(int parallelism) {
+        if (parallelism <= 1) {
+            simulateAllMatches();
+            return;
         }
+        scheduleAll();
+        int first = nextFixture;
+        long start = EngineMetrics.start();
+        EngineEvents.BatchSimulated event = EngineEvents.recording() ? new EngineEvents.BatchSimulated() : null;
+        if (event != null) event.begin();
+        int eventsBefore = events.size();
+        stats.trackScorers(null);
+        Matchdays.simulate(games.subList(first, games.size()), parallelism, seed, model, randomSources);
+        nextFixture = games.size();
+        collectEvents();
+        EngineMetrics.batchSimulated(start, nextFixture - first, events.size() - eventsBefore);
+        commit(event, nextFixture - first, events.size() - eventsBefore, parallelism);
         sortTeamsByPoints();
+        reportPlayed(first);
     }
 
     // Simulate next match
     public Game simulateNextMatch() {
-        for (Game game : games) {
-            if (!game.isFinished()) {
-                game.simulate();
-                allEvents.addAll(game.getEvents());
-                sortTeamsByPoints();
-                return game;
-            }
+        Game game = getNextMatch();
+        if (game == null) return null;
+        nextFixture++;
+        play(game, random);
+        standings.update(game.getHomeTeam());
+        standings.update(game.getAwayTeam());
+        reportPlayed(nextFixture - 1);
+        return game;
+    }
+
+    // Apply a result recorded earlier (see MatchJournal) as the next match, without
+    // simulating it or reporting it again
+    Game replayNextMatch(int homeScore, int awayScore, long[] packedEvents, int count) {
+        Game game = getNextMatch();
+        if (game == null) return null;
+        nextFixture++;
+        game.replay(homeScore, awayScore, events, packedEvents, count);
+        model.rate(game.getHomeTeam(), game.getAwayTeam(), homeScore, awayScore);
+        standings.update(game.getHomeTeam());
+        standings.update(game.getAwayTeam());
+        return game;
+    }
+
+    // The pending fixtures from the next one up to the first that repeats a team: games that
+    // can all be played at the same time, as a live matchday does (see LiveMatches)
+    List<Game> nextMatchday() {
+        if (getNextMatch() == null) return Collections.emptyList();
+        Set<Team> playing = new HashSet<>();
+        int end = nextFixture;
+        while (end < games.size()) {
+            Game game = games.get(end);
+            if (!playing.add(game.getHomeTeam()) || !playing.add(game.getAwayTeam())) break;
+            end++;
         }
-        return null;
+        return new ArrayList<>(games.subList(nextFixture, end));
     }
 
-    private void sortTeamsByPoints() {
-        teams.sort((t1, t2) -> {
-            int pointsCompare = Integer.compare(t2.getPoints(), t1.getPoints());
-            if (pointsCompare != 0) return pointsCompare;
+    // Draw a pending game's events from its own stream without playing it; returns its last minute
+    int preview(Game game, EventStore scratch) {
+        random.reset(seed, game.getIndex());
+        return game.preview(random, scratch, model);
+    }
 
-            int goalDiffCompare = Integer.compare(t2.getGoalDifference(), t1.getGoalDifference());
-            if (goalDiffCompare != 0) return goalDiffCompare;
+    // Apply a result played out elsewhere (a live match) as the next match, and report it to
+    // the listeners as if it had been simulated here
+    Game commitNextMatch(int homeScore, int awayScore, long[] packedEvents, int count) {
+        Game game = replayNextMatch(homeScore, awayScore, packedEvents, count);
+        if (game != null) reportPlayed(nextFixture - 1);
+        return game;
+    }
 
-            return Integer.compare(t2.getGoalsFor(), t1.getGoalsFor());
-        });
+    private static void commit(EngineEvents.BatchSimulated event, int games, long eventCount, int parallelism) {
+        if (event == null || !event.shouldCommit()) return;
+        event.games = games;
+        event.events = eventCount;
+        event.parallelism = parallelism;
+        event.commit();
     }
 
-    public boolean isSeasonComplete() {
-        return games.stream().allMatch(Game::isFinished);
+    private void reportPlayed(int first) {
+        if (resultListeners.isEmpty()) return;
+        for (int i = first; i < nextFixture; i++) {
+            for (ResultListener listener : resultListeners) listener.played(games.get(i), i);
+        }
+        for (ResultListener listener : resultListeners) listener.batchEnd();
     }
 
-    public void resetSeason() {
-        // Reset all team stats
-        for (Team team : teams) {
-            team.pointsProperty().set(0);
-            team.goalsForProperty().set(0);
-            team.goalsAgainstProperty().set(0);
-            team.winsProperty().set(0);
-            team.drawsProperty().set(0);
-            team.lossesProperty().set(0);
-            team.gamesPlayedProperty().set(0);
-
-            // Reset player stats
+    private void scheduleAll() {
+        while (scheduleNextRound()) {
+            // every remaining round becomes games for a bulk run
+        }
+    }
+
+    private void play(Game game, RandomSource random) {
+        random.reset(seed, game.getIndex());
+        game.simulate(random, events, model);
+    }
+
+    // Pack the finished games' events into a fresh season store, in fixture order
+    void collectEvents() {
+        EventStore collected = new EventStore(1024);
+        for (Game game : games) {
+            if (game.isFinished()) {
+                game.moveEventsTo(collected);
+            }
+        }
+        events = collected;
+    }
+
+    // Full re-rank of the table and the scorers, for bulk changes; single results go through
+    // standings.update() and the scorers' per-goal updates
+    void sortTeamsByPoints() {
+        unranked = false;
+        long start = EngineMetrics.start();
+        EngineEvents.TableSorted event = EngineEvents.recording() ? new EngineEvents.TableSorted() : null;
+        if (event != null) event.begin();
+        standings.rebuild();
+        stats.trackScorers(scorers);
+        scorers.rebuild(stats);
+        EngineMetrics.tableSorted(start);
+        if (event != null && event.shouldCommit()) {
+            event.teams = standings.size();
+            event.players = scorers.size();
+            event.commit();
+        }
+    }
+
+    // Copy the engine's stats into any JavaFX properties the UI has bound to
+    public void syncProperties() {
+        for (Team team : getTeams()) {
+            team.syncProperties();
             for (Player player : team.getPlayers()) {
-                player.goalsScoredProperty().set(0);
-                player.gamesPlayedProperty().set(0);
+                player.syncProperties();
             }
         }
+    }
 
+    public boolean isSeasonComplete() {
+        return getRemainingCount() == 0;
+    }
 
+    // Drop every fixture, played or not, and the schedule; stats are left alone
+    public void clearFixtures() {
         games.clear();
-        allEvents.clear();
+        nextFixture = 0;
+        schedule = null;
+        nextRound = 0;
+        droppedSlots = null;
+        droppedAhead = 0;
+    }
+
+    // Back to an empty season with the seed moved on by one, so the next season plays out
+    // differently while a run of resets still repeats from the same starting seed
+    public void resetSeason() {
+        // Reset all team and player stats
+        stats.reset();
+        standings.rebuild();
+
+        clearFixtures();
+        events.clear();
+        seed++;
+    }
+
+    // Adopt state read back from a snapshot (see LeagueSnapshot); listeners see whole-table
+    // reorders rather than one move per team
+    void restore(String name, long seed, StatsStore stats, List<Team> table, EventStore events,
+                 List<Game> games, int nextFixture, Schedule schedule, int nextRound,
+                 boolean[] droppedSlots, int droppedAhead) {
+        this.name = name;
+        this.seed = seed;
+        this.stats = stats;
+        this.events = events;
+        this.games.clear();
+        this.games.addAll(games);
+        this.nextFixture = nextFixture;
+        this.schedule = schedule;
+        this.nextRound = nextRound;
+        this.droppedSlots = droppedSlots;
+        this.droppedAhead = droppedAhead;
+
+        standings.clear();
+        standings.addAll(table);
+        List<Player> players = new ArrayList<>();
+        for (Team team : table) {
+            players.addAll(team.getPlayers());
+        }
+        stats.trackScorers(scorers);
+        scorers.reset(players, stats);
+    }
+
+    int getNextRound() { return nextRound; }
+    boolean[] getDroppedSlots() { return droppedSlots; }
+    int getDroppedAhead() { return droppedAhead; }
+
+    // Read-only view of the season's events, decoded from the packed store on access
+    private final class AllEvents extends AbstractList<GameEvent> {
+        @Override
+        public GameEvent get(int i) {
+            return EventStore.decode(events.get(i), stats);
+        }
+
+        @Override
+        public int size() {
+            return events.size();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,459 @@
+package org.example.soccer;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+// Headless entry point for batch runs and pipelines: builds a league, plays it and writes the
+// table, without touching JavaFX (so it starts in tens of milliseconds and needs no display).
+//   java -cp target/soccer-league-manager-1.0.0.jar org.example.soccer.LeagueCli --teams 20 --seasons 10
+// The jar's Main-Class is this class; the UI is started with mvn javafx:run.
+// Results go to stdout (or --out as CSV), timings and progress to stderr.
+public final class LeagueCli {
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: LeagueCli [options]",
+            "League (default --teams 20):",
+            "  --load FILE          snapshot saved by the app or --save; its journal is replayed too",
+            "  --import FILE        roster to import, CSV or .json",
+            "  --teams N            generate N teams of eleven players",
+            "  --seed N             league seed",
+            "  --double             double round robin for new fixtures",
+            "  --minutes N          match length (default 90)",
+            "  --stoppage N         up to N added minutes per game (default 0)",
+            "  --k-factor K         rating change per unexpected result (default 20, 0 freezes ratings)",
+            "  --home-advantage N   rating points added to the home side (default 0)",
+            "  --tiebreakers LIST   order of gd, gf, away, fair-play, h2h after points (default gd,gf)",
+            "What to play (default: the rest of the season):",
+            "  --matches N          the next N fixtures",
+            "  --seasons N          N seasons; a finished season is reset before the next",
+            "  --projection RUNS    Monte Carlo odds for the final table, leaving the league as it is",
+            "  --parallelism N      threads for full seasons and projections (default: all cores)",
+            "Output:",
+            "  --out FILE           write the table as CSV instead of printing it",
+            "  --save FILE          save a snapshot afterwards",
+            "  --events FILE        write every match event as CSV, streamed while the games play",
+            "  --metrics            collect EngineMetrics and print the summary");
+    private static final String[] POSITIONS = {
+            "Goalkeeper", "Defender", "Defender", "Defender", "Defender",
+            "Midfielder", "Midfielder", "Midfielder", "Forward", "Forward", "Forward"
+    };
+
+    private Path load;
+    private Path roster;
+    private int teams = -1;
+    private Long seed;
+    private boolean doubleRoundRobin;
+    private int minutes = -1;
+    private int stoppage = -1;
+    private Double kFactor;
+    private Double homeAdvantage;
+    private TableRules tableRules;
+    private int matches = -1;
+    private int seasons = -1;
+    private int projectionRuns = -1;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private Path out;
+    private Path save;
+    private Path events;
+    private boolean metrics;
+
+    private LeagueCli() {
+    }
+
+    public static void main(String[] args) {
+        long launched = System.nanoTime();
+        LeagueCli cli = new LeagueCli();
+        try {
+            if (!cli.parse(args)) {
+                System.out.println(USAGE);
+                return;
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        try {
+            cli.run(launched);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed: " + e);
+            System.exit(1);
+        }
+    }
+
+    // False when only the usage was asked for
+    private boolean parse(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            switch (option) {
+                case "-h":
+                case "--help":
+                    return false;
+                case "--double":
+                    doubleRoundRobin = true;
+                    continue;
+                case "--metrics":
+                    metrics = true;
+                    continue;
+                default:
+                    break;
+            }
+            String value = i + 1 < args.length ? args[++i] : null;
+            switch (option) {
+                case "--load": load = path(option, value); break;
+                case "--import": roster = path(option, value); break;
+                case "--teams": teams = count(option, value, 2); break;
+                case "--seed": seed = number(option, value); break;
+                case "--minutes": minutes = count(option, value, 1); break;
+                case "--stoppage": stoppage = count(option, value, 0); break;
+                case "--k-factor": kFactor = decimal(option, value); break;
+                case "--home-advantage": homeAdvantage = decimal(option, value); break;
+                case "--tiebreakers":
+                    if (value == null) throw new IllegalArgumentException("Missing value for " + option);
+                    tableRules = TableRules.parse(value);
+                    break;
+                case "--matches": matches = count(option, value, 0); break;
+                case "--seasons": seasons = count(option, value, 1); break;
+                case "--projection": projectionRuns = count(option, value, 1); break;
+                case "--parallelism": parallelism = count(option, value, 1); break;
+                case "--out": out = path(option, value); break;
+                case "--save": save = path(option, value); break;
+                case "--events": events = path(option, value); break;
+                default: throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+        if ((load != null ? 1 : 0) + (roster != null ? 1 : 0) + (teams >= 0 ? 1 : 0) > 1) {
+            throw new IllegalArgumentException("Use only one of --load, --import and --teams");
+        }
+        if ((matches >= 0 ? 1 : 0) + (seasons >= 0 ? 1 : 0) + (projectionRuns >= 0 ? 1 : 0) > 1) {
+            throw new IllegalArgumentException("Use only one of --matches, --seasons and --projection");
+        }
+        return true;
+    }
+
+    private static Path path(String option, String value) {
+        if (value == null) throw new IllegalArgumentException("Missing value for " + option);
+        return Paths.get(value);
+    }
+
+    private static long number(String option, String value) {
+        if (value == null) throw new IllegalArgumentException("Missing value for " + option);
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(option + " needs a number: " + value);
+        }
+    }
+
+    private static double decimal(String option, String value) {
+        if (value == null) throw new IllegalArgumentException("Missing value for " + option);
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(option + " needs a number: " + value);
+        }
+    }
+
+    private static int count(String option, String value, int min) {
+        long n = number(option, value);
+        if (n < min || n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(option + " must be at least " + min + ": " + value);
+        }
+        return (int) n;
+    }
+
+    private void run(long launched) throws IOException {
+        if (metrics) EngineMetrics.setEnabled(true);
+        League league = buildLeague();
+        if (seed != null) league.setSeed(seed);
+        if (minutes >= 0 || stoppage >= 0) {
+            MatchFormat format = league.getMatchFormat();
+            league.setMatchFormat(new MatchFormat(minutes >= 0 ? minutes : format.getMinutes(),
+                    stoppage >= 0 ? stoppage : format.getMaxStoppage()));
+        }
+        if (kFactor != null || homeAdvantage != null) {
+            MatchModel model = league.getMatchModel();
+            league.setMatchModel(model.withRatings(kFactor != null ? kFactor : model.getKFactor(),
+                    homeAdvantage != null ? homeAdvantage : model.getHomeAdvantage()));
+        }
+        if (tableRules != null) league.setTableRules(tableRules);
+        if (league.getTeams().size() < 2) throw new IllegalArgumentException("Need at least two teams to play");
+        if (league.getSchedule() == null && league.getGames().isEmpty()) league.generateMatches(doubleRoundRobin);
+        log("Ready in %.1f ms: %s, %,d teams, %,d of %,d fixtures played",
+                millis(System.nanoTime() - launched), league.getName(), league.getTeams().size(),
+                league.getCompletedCount(), league.getCompletedCount() + league.getRemainingCount());
+
+        EventExport export = events != null ? EventExport.start(league, events) : null;
+        SeasonProjection.Result projection = null;
+        if (projectionRuns > 0) {
+            long start = System.nanoTime();
+            projection = new SeasonProjection(league).run(projectionRuns, parallelism, league.getSeed());
+            long nanos = System.nanoTime() - start;
+            log("Projected %,d runs in %.1f ms (%,.0f runs/s)", projectionRuns, millis(nanos), projectionRuns * 1e9 / nanos);
+        } else if (matches >= 0) {
+            long start = System.nanoTime();
+            int played = league.simulateMatches(matches);
+            logPlayed(played, System.nanoTime() - start);
+        } else {
+            playSeasons(league, Math.max(1, seasons));
+        }
+        if (export != null) {
+            long exported = export.finish();
+            log("Wrote %,d events to %s", exported, events);
+        }
+
+        if (out != null) {
+            try (Writer writer = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+                writeCsv(league, projection, writer);
+            }
+            log("Wrote %s", out);
+        } else {
+            PrintWriter writer = new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+            printTable(league, projection, writer);
+            writer.flush();
+        }
+        if (save != null) {
+            LeagueSnapshot.save(league, save);
+            // A journal left beside an older snapshot would be replayed on top of this one
+            Files.deleteIfExists(MatchJournal.beside(save));
+            log("Saved %s", save);
+        }
+        if (metrics) System.err.println(EngineMetrics.summary());
+    }
+
+    private League buildLeague() throws IOException {
+        if (load != null) {
+            League league = LeagueSnapshot.load(load);
+            int replayed = MatchJournal.replay(MatchJournal.beside(load), league);
+            if (replayed > 0) log("Replayed %,d games from the journal", replayed);
+            return league;
+        }
+        League league = new League("League");
+        if (roster != null) {
+            RosterImporter.Result result = RosterImporter.importFile(roster, league);
+            log("Imported %,d teams and %,d players in %.1f ms", result.getTeams(), result.getPlayers(),
+                    millis(result.getNanos()));
+            return league;
+        }
+        int n = teams < 0 ? 20 : teams;
+        List<Team> generated = new ArrayList<>(n);
+        for (int t = 1; t <= n; t++) {
+            Team team = new Team("Team " + t);
+            for (int p = 0; p < POSITIONS.length; p++) {
+                team.addPlayer(new Player("Team " + t + " Player " + (p + 1), POSITIONS[p]));
+            }
+            generated.add(team);
+        }
+        league.addTeams(generated);
+        return league;
+    }
+
+    // The first season finishes the current fixtures, if any are left. Each reset moves the
+    // seed on by one, so seasons differ but the whole run repeats for the same --seed
+    private void playSeasons(League league, int count) {
+        long total = 0;
+        long totalNanos = 0;
+        for (int season = 1; season <= count; season++) {
+            if (league.isSeasonComplete() && league.getCompletedCount() > 0) {
+                league.resetSeason();
+                league.generateMatches(doubleRoundRobin);
+            }
+            int before = league.getCompletedCount();
+            long start = System.nanoTime();
+            league.simulateAllMatches(parallelism);
+            long nanos = System.nanoTime() - start;
+            int played = league.getCompletedCount() - before;
+            total += played;
+            totalNanos += nanos;
+            if (count > 1) {
+                Team champion = league.getTeams().get(0);
+                log("Season %d: %s champions on %d points (%,d games, %.1f ms)", season, champion.getName(),
+                        champion.getPoints(), played, millis(nanos));
+            }
+        }
+        logPlayed(total, totalNanos);
+    }
+
+    private static void logPlayed(long played, long nanos) {
+        log("Played %,d games in %.1f ms (%,.0f games/s)", played, millis(nanos), nanos == 0 ? 0 : played * 1e9 / nanos);
+    }
+
+    private static void printTable(League league, SeasonProjection.Result projection, PrintWriter out) {
+        out.printf("%4s  %-24s %4s %4s %4s %4s %5s %5s %5s %5s %6s", "Pos", "Team", "P", "W", "D", "L", "GF", "GA", "GD", "Pts", "Elo");
+        if (projection != null) out.printf(" %7s %7s %7s", "Title", "Top 4", "Bottom3");
+        out.println();
+        List<Team> table = league.getTeams();
+        for (int i = 0; i < table.size(); i++) {
+            Team team = table.get(i);
+            out.printf("%4d  %-24s %4d %4d %4d %4d %5d %5d %5d %5d %6.0f", i + 1, team.getName(), team.getGamesPlayed(),
+                    team.getWins(), team.getDraws(), team.getLosses(), team.getGoalsFor(), team.getGoalsAgainst(),
+                    team.getGoalDifference(), team.getPoints(), team.getElo());
+            if (projection != null) {
+                out.printf(" %6.1f%% %6.1f%% %6.1f%%", 100 * projection.titleOdds(team),
+                        100 * projection.topFourOdds(team), 100 * projection.bottomThreeOdds(team));
+            }
+            out.println();
+        }
+        List<Player> scorers = league.getTopScorers().top(1);
+        if (!scorers.isEmpty()) {
+            Player top = scorers.get(0);
+            out.printf("Top scorer: %s (%s), %d goals%n", top.getName(), top.getTeam().getName(), top.getGoalsScored());
+        }
+    }
+
+    private static void writeCsv(League league, SeasonProjection.Result projection, Writer out) throws IOException {
+        out.write("position,team,played,won,drawn,lost,goals_for,goals_against,goal_difference,points,elo");
+        if (projection != null) out.write(",title,top_four,bottom_three");
+        out.write('\n');
+        List<Team> table = league.getTeams();
+        StringBuilder row = new StringBuilder();
+        for (int i = 0; i < table.size(); i++) {
+            Team team = table.get(i);
+            row.setLength(0);
+            row.append(i + 1).append(',').append(csv(team.getName()))
+                    .append(',').append(team.getGamesPlayed()).append(',').append(team.getWins())
+                    .append(',').append(team.getDraws()).append(',').append(team.getLosses())
+                    .append(',').append(team.getGoalsFor()).append(',').append(team.getGoalsAgainst())
+                    .append(',').append(team.getGoalDifference()).append(',').append(team.getPoints())
+                    .append(',').append(team.getElo());
+            if (projection != null) {
+                row.append(',').append(projection.titleOdds(team))
+                        .append(',').append(projection.topFourOdds(team))
+                        .append(',').append(projection.bottomThreeOdds(team));
+            }
+            out.write(row.append('\n').toString());
+        }
+    }
+
+    // Writes the league's events as CSV from a MatchFeed subscription on a thread of its own.
+    // The exporter must see every game, so a full buffer holds the simulation up rather than
+    // dropping batches; games still play while earlier ones are being written
+    private static final class EventExport implements Flow.Subscriber<MatchFeed.Batch> {
+        private static final int BUFFER = 16;
+        private static final String[] TYPES = {"kickoff", "goal", "yellow_card", "possession"};
+
+        private final MatchFeed feed;
+        private final ExecutorService executor;
+        private final Writer out;
+        private final CompletableFuture<Long> done = new CompletableFuture<>();
+        private final StringBuilder row = new StringBuilder();
+        private Flow.Subscription subscription;
+        private int season = 1;
+        private int lastSequence = -1;
+        private long written;
+
+        private EventExport(MatchFeed feed, ExecutorService executor, Writer out) {
+            this.feed = feed;
+            this.executor = executor;
+            this.out = out;
+        }
+
+        static EventExport start(League league, Path file) throws IOException {
+            ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "event-export");
+                thread.setDaemon(true);
+                return thread;
+            });
+            Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            out.write("season,game,home,away,minute,type,team,player\n");
+            MatchFeed feed = new MatchFeed(executor, MatchFeed.DEFAULT_BATCH_GAMES);
+            EventExport export = new EventExport(feed, executor, out);
+            feed.subscribe(export, BUFFER, MatchFeed.Overflow.BLOCK);
+            league.addResultListener(feed);
+            return export;
+        }
+
+        // After the last game: wait for the rest to be written; returns the event count
+        long finish() throws IOException {
+            feed.close();
+            try {
+                return done.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+                throw e;
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(BUFFER);
+        }
+
+        @Override
+        public void onNext(MatchFeed.Batch batch) {
+            try {
+                for (int i = 0; i < batch.size(); i++) {
+                    // Sequences restart with each season
+                    if (batch.sequence(i) <= lastSequence) season++;
+                    lastSequence = batch.sequence(i);
+                    Game game = batch.game(i);
+                    for (int e = 0; e < batch.eventCount(i); e++) {
+                        long event = batch.packedEvent(i, e);
+                        Team team = EventStore.isAway(event) ? game.getAwayTeam() : game.getHomeTeam();
+                        int player = EventStore.playerId(event);
+                        row.setLength(0);
+                        row.append(season).append(',').append(batch.sequence(i) + 1)
+                                .append(',').append(csv(game.getHomeTeam().getName()))
+                                .append(',').append(csv(game.getAwayTeam().getName()))
+                                .append(',').append(EventStore.minute(event))
+                                .append(',').append(TYPES[EventStore.type(event)])
+                                .append(',').append(csv(team.getName()))
+                                .append(',').append(player < 0 ? "" : csv(team.getStats().player(player).getName()))
+                                .append('\n');
+                        out.write(row.toString());
+                    }
+                    written += batch.eventCount(i);
+                }
+            } catch (IOException e) {
+                subscription.cancel();
+                close();
+                done.completeExceptionally(e);
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable failure) {
+            close();
+            done.completeExceptionally(failure);
+        }
+
+        @Override
+        public void onComplete() {
+            try {
+                out.close();
+                done.complete(written);
+            } catch (IOException e) {
+                done.completeExceptionally(e);
+            }
+        }
+
+        private void close() {
+            try {
+                out.close();
+            } catch (IOException ignored) {
+                // already failing
+            }
+        }
+    }
+
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static double millis(long nanos) { return nanos / 1e6; }
+
+    private static void log(String format, Object... args) {
+        System.err.println(String.format(format, args));
+    }
+}
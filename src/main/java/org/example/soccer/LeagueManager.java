@@ -0,0 +1,335 @@
+package org.example.soccer;
+
+import java.io.Closeable;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Hosts many independent leagues (divisions, regions, what-if copies) and plays their
+// fixtures on one shared pool of a fixed number of worker threads.
+// Work is handed out in time slices: a worker takes the waiting league that has had the least
+// weighted simulation time, plays one chunk of about SLICE_NANOS through
+// League.simulateMatchesUnranked(), and queues it again. So one huge league holds a worker
+// for a slice at a time and small leagues are not stuck behind it. A league's priority is
+// its weight: at priority 4 it gets four times the simulation time of a priority-1 league
+// while both have work (stride scheduling; a league joining the queue starts at the current
+// virtual time, so waiting earns no credit).
+// A league is on at most one worker at a time and shares nothing with the others. While it is
+// submitted, touch it only through Entry.read(), which runs between slices. Slices leave the
+// table and scorers unranked; read() and the end of a run re-rank them, so that cost is paid
+// once per look rather than once per slice.
+public final class LeagueManager implements Closeable {
+    private static final long SLICE_NANOS = 5_000_000L;
+    public static final int MAX_PRIORITY = 1000;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition ready = lock.newCondition();
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>(
+            Comparator.comparingLong((Entry entry) -> entry.pass).thenComparingLong(entry -> entry.order));
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final Thread[] workers;
+    private long virtualTime;
+    private long nextOrder;
+    private int active; // submitted leagues, queued or on a worker
+    private boolean closed;
+
+    private final LongAdder gamesPlayed = new LongAdder();
+    private long busyNanos;
+    private long busySince;
+
+    // One hosted league
+    public final class Entry {
+        private final String name;
+        private final League league;
+        private final ReentrantLock leagueLock = new ReentrantLock(true); // fair, so read() gets between slices
+        private int priority;
+        private long pass;
+        private long order;
+        private int chunk = SeasonRun.FIRST_CHUNK;
+        private volatile int played;
+        private volatile long simulatedNanos;
+        private boolean submitted;
+        private boolean cancelled;
+        private int playedBefore; // played when this submission started
+        private CompletableFuture<Integer> done = CompletableFuture.completedFuture(0);
+
+        private Entry(String name, League league, int priority) {
+            this.name = name;
+            this.league = league;
+            this.priority = priority;
+        }
+
+        public String getName() { return name; }
+        public League getLeague() { return league; }
+        // Games and simulation time since the league was added
+        public int getPlayed() { return played; }
+        public long getSimulatedNanos() { return simulatedNanos; }
+
+        public int getPriority() {
+            lock.lock();
+            try {
+                return priority;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Takes effect from the league's next slice
+        public void setPriority(int priority) {
+            checkPriority(priority);
+            lock.lock();
+            try {
+                this.priority = priority;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public boolean isRunning() {
+            lock.lock();
+            try {
+                return submitted;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Play every remaining fixture; completes with the games played by this submission.
+        // Submitting a league that is already running returns its current future
+        public CompletableFuture<Integer> submit() {
+            lock.lock();
+            try {
+                if (closed) throw new IllegalStateException("League manager is closed");
+                if (entries.get(name) != this) throw new IllegalStateException(name + " was removed");
+                if (submitted) return done;
+                submitted = true;
+                cancelled = false;
+                done = new CompletableFuture<>();
+                playedBefore = played;
+                enqueue(this);
+                if (active++ == 0) busySince = System.nanoTime();
+                return done;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Stop after the slice in progress, if any; the games played so far stay played
+        public void cancel() {
+            CompletableFuture<Integer> finished = null;
+            lock.lock();
+            try {
+                if (!submitted) return;
+                cancelled = true;
+                if (queue.remove(this)) finished = finish(this);
+            } finally {
+                lock.unlock();
+            }
+            if (finished == null) return;
+            read(() -> { });
+            finished.complete(played - playedBefore);
+        }
+
+        // Run an action against the league while none of its slices is in progress
+        public void read(Runnable action) {
+            leagueLock.lock();
+            try {
+                league.rankIfStale();
+                action.run();
+            } finally {
+                leagueLock.unlock();
+            }
+        }
+    }
+
+    public LeagueManager(int workerCount) {
+        if (workerCount < 1) throw new IllegalArgumentException("Need at least one worker");
+        workers = new Thread[workerCount];
+        for (int w = 0; w < workerCount; w++) {
+            workers[w] = new Thread(this::work, "league-worker-" + w);
+            workers[w].setDaemon(true);
+            workers[w].start();
+        }
+    }
+
+    public int getWorkerCount() { return workers.length; }
+
+    public Entry add(String name, League league, int priority) {
+        checkPriority(priority);
+        lock.lock();
+        try {
+            if (closed) throw new IllegalStateException("League manager is closed");
+            if (entries.containsKey(name)) throw new IllegalArgumentException("Already hosting " + name);
+            Entry entry = new Entry(name, league, priority);
+            entries.put(name, entry);
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Entry get(String name) {
+        lock.lock();
+        try {
+            return entries.get(name);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Snapshot of the hosted leagues, in the order they were added
+    public List<Entry> getEntries() {
+        lock.lock();
+        try {
+            return new ArrayList<>(entries.values());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Cancels the league's run, if any, and stops hosting it
+    public void remove(Entry entry) {
+        lock.lock();
+        try {
+            if (!entries.remove(entry.name, entry)) return;
+        } finally {
+            lock.unlock();
+        }
+        entry.cancel();
+    }
+
+    public int getActiveCount() {
+        lock.lock();
+        try {
+            return active;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getGamesPlayed() { return gamesPlayed.sum(); }
+
+    // Aggregate games/s over the time at least one league was running
+    public double getGamesPerSecond() {
+        long nanos;
+        lock.lock();
+        try {
+            nanos = busyNanos + (active > 0 ? System.nanoTime() - busySince : 0);
+        } finally {
+            lock.unlock();
+        }
+        return nanos == 0 ? 0 : gamesPlayed.sum() * 1e9 / nanos;
+    }
+
+    // Cancels every run, waits for the slices in progress and stops the workers
+    @Override
+    public void close() {
+        List<Entry> hosted;
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            hosted = new ArrayList<>(entries.values());
+            ready.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Entry entry : hosted) {
+            entry.cancel();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void work() {
+        while (true) {
+            Entry entry;
+            int chunk;
+            lock.lock();
+            try {
+                while (queue.isEmpty() && !closed) {
+                    ready.awaitUninterruptibly();
+                }
+                if (queue.isEmpty()) return;
+                entry = queue.poll();
+                virtualTime = Math.max(virtualTime, entry.pass);
+                chunk = entry.chunk;
+            } finally {
+                lock.unlock();
+            }
+
+            long start = System.nanoTime();
+            int n;
+            Throwable failure = null;
+            entry.leagueLock.lock();
+            try {
+                n = entry.league.simulateMatchesUnranked(chunk);
+            } catch (Throwable e) {
+                n = 0;
+                failure = e;
+            } finally {
+                entry.leagueLock.unlock();
+            }
+            long elapsed = System.nanoTime() - start;
+            gamesPlayed.add(n);
+
+            CompletableFuture<Integer> finished = null;
+            int result = 0;
+            lock.lock();
+            try {
+                entry.played += n; // only the worker holding the entry writes these
+                entry.simulatedNanos += elapsed;
+                entry.pass += elapsed / entry.priority;
+                entry.chunk = SeasonRun.nextChunk(chunk, elapsed, SLICE_NANOS);
+                if (failure != null || n == 0 || entry.cancelled) {
+                    finished = finish(entry);
+                    result = entry.played - entry.playedBefore;
+                } else {
+                    enqueue(entry);
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (finished == null) continue;
+            // Re-rank before handing the league back; a new submission's slices wait on the
+            // league lock. Outside the manager lock, so neither this nor callbacks on the
+            // future hold up scheduling
+            try {
+                entry.read(() -> { });
+            } catch (RuntimeException e) {
+                if (failure == null) failure = e;
+            }
+            if (failure != null) finished.completeExceptionally(failure);
+            else finished.complete(result);
+        }
+    }
+
+    // Callers hold lock
+    private void enqueue(Entry entry) {
+        entry.pass = Math.max(entry.pass, virtualTime);
+        entry.order = nextOrder++;
+        queue.add(entry);
+        ready.signal();
+    }
+
+    // The caller completes the returned future once it has let go of the lock
+    private CompletableFuture<Integer> finish(Entry entry) {
+        entry.submitted = false;
+        if (--active == 0) busyNanos += System.nanoTime() - busySince;
+        return entry.done;
+    }
+
+    private static void checkPriority(int priority) {
+        if (priority < 1 || priority > MAX_PRIORITY) {
+            throw new IllegalArgumentException("Priority must be 1-" + MAX_PRIORITY + ": " + priority);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package org.example.soccer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+// Binary snapshot of a whole league: teams, squads, stats, schedule, games and events.
+// Little-endian layout:
+//   header    magic, version, metadata length, metadata CRC32, events offset, event count
+//   metadata  league, team rows, player rows, schedule, games (events implied in game order)
+//   events    the finished games' packed longs, back to back, 8-byte aligned
+// Loading maps the file: teams, players and the table are decoded straight away, while the
+// event section stays mapped and pages are copied out only when something reads them.
+// Saves go to a temporary file that replaces the old snapshot once it is on disk.
+public final class LeagueSnapshot {
+    private static final int MAGIC = 0x534C4731; // "SLG1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 40;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private LeagueSnapshot() {
+    }
+
+    public static void save(League league, Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Writer out = new Writer(channel, HEADER_BYTES);
+            CRC32 crc = new CRC32();
+            out.checksum(crc);
+            long eventCount = writeMetadata(league, out);
+            out.checksum(null);
+            long metadataBytes = out.position() - HEADER_BYTES;
+            out.align(Long.BYTES);
+            long eventsOffset = out.position();
+            for (Game game : league.getGames()) {
+                if (game.isFinished()) out.putEvents(game.getEventStore(), game.getEventOffset(), game.getEventCount());
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putLong(metadataBytes).putLong(crc.getValue())
+                    .putLong(eventsOffset).putLong(eventCount).flip();
+            while (header.hasRemaining()) channel.write(header, header.position());
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Read a snapshot into a new league
+    public static League load(Path file) throws IOException {
+        League league = new League("");
+        load(file, league);
+        return league;
+    }
+
+    // Replace a league's state with a snapshot; its listeners stay attached
+    public static void load(Path file, League league) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES) throw new IOException("Not a league snapshot: " + file);
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC) throw new IOException("Not a league snapshot: " + file);
+            int version = header.getInt();
+            if (version != VERSION) throw new IOException("Unsupported snapshot version " + version + ": " + file);
+            long metadataBytes = header.getLong();
+            long checksum = header.getLong();
+            long eventsOffset = header.getLong();
+            long eventCount = header.getLong();
+            if (metadataBytes > Integer.MAX_VALUE || eventCount * Long.BYTES > Integer.MAX_VALUE
+                    || eventsOffset + eventCount * Long.BYTES > fileSize) {
+                throw new IOException("Truncated or oversized snapshot: " + file);
+            }
+
+            MappedByteBuffer metadata = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, metadataBytes);
+            metadata.order(ByteOrder.LITTLE_ENDIAN);
+            CRC32 crc = new CRC32();
+            crc.update(metadata.duplicate());
+            if (crc.getValue() != checksum) throw new IOException("Snapshot checksum mismatch: " + file);
+
+            LongBuffer events = channel.map(FileChannel.MapMode.READ_ONLY, eventsOffset, eventCount * Long.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+            readMetadata(metadata, EventStore.mapped(events), league);
+        }
+    }
+
+    // Returns the number of events the finished games hold
+    private static long writeMetadata(League league, Writer out) throws IOException {
+        StatsStore stats = league.getStats();
+        out.putString(league.getName());
+        out.putLong(league.getSeed());
+        out.putInt(league.getMatchFormat().getMinutes());
+        out.putInt(league.getMatchFormat().getMaxStoppage());
+        out.putLong(Double.doubleToLongBits(league.getMatchModel().getKFactor()));
+        out.putLong(Double.doubleToLongBits(league.getMatchModel().getHomeAdvantage()));
+        TableRules rules = league.getTableRules();
+        out.putByte(rules.size());
+        for (TableRules.Tiebreaker tiebreaker : rules.getTiebreakers()) {
+            out.putByte(tiebreaker.ordinal());
+        }
+
+        // Team rows, in id order so packed events still resolve
+        out.putInt(stats.teamCount());
+        for (int id = 0; id < stats.teamCount(); id++) {
+            Team team = stats.team(id);
+            boolean own = team.getStats() == stats && team.getId() == id;
+            out.putString(team.getName());
+            out.putByte(own && league.getStandings().contains(team) ? 1 : 0);
+            out.putInt(stats.points(id));
+            out.putInt(stats.goalsFor(id));
+            out.putInt(stats.goalsAgainst(id));
+            out.putInt(stats.wins(id));
+            out.putInt(stats.draws(id));
+            out.putInt(stats.losses(id));
+            out.putInt(stats.teamGamesPlayed(id));
+            out.putInt(stats.awayGoalsFor(id));
+            out.putInt(stats.yellowCards(id));
+            out.putLong(Double.doubleToLongBits(stats.elo(id)));
+        }
+
+        // Player rows; a squad's players come in squad order
+        out.putInt(stats.playerCount());
+        for (int id = 0; id < stats.playerCount(); id++) {
+            Player player = stats.player(id);
+            Team team = player.getTeam();
+            boolean own = player.getStats() == stats && player.getId() == id;
+            out.putString(player.getName());
+            out.putString(player.getPosition());
+            out.putInt(own && team != null && team.getStats() == stats ? team.getId() : -1);
+            out.putInt(stats.goalsScored(id));
+            out.putInt(stats.playerGamesPlayed(id));
+            out.putLong(Double.doubleToLongBits(player.getRating()));
+        }
+
+        Schedule schedule = league.getSchedule();
+        out.putByte(schedule == null ? 0 : 1);
+        if (schedule != null) {
+            int slots = 2 * schedule.getMatchesPerRound();
+            out.putByte(schedule.isDoubleRoundRobin() ? 1 : 0);
+            int teams = 0;
+            for (int slot = 0; slot < slots; slot++) {
+                if (schedule.team(slot) != null) teams++;
+            }
+            out.putInt(teams);
+            for (int slot = 0; slot < slots; slot++) {
+                if (schedule.team(slot) != null) out.putInt(schedule.team(slot).getId());
+            }
+            out.putInt(league.getNextRound());
+            out.putInt(league.getDroppedAhead());
+            for (boolean dropped : league.getDroppedSlots()) {
+                out.putByte(dropped ? 1 : 0);
+            }
+        }
+
+        long eventCount = 0;
+        out.putInt(league.getGames().size());
+        out.putInt(league.getCompletedCount());
+        for (Game game : league.getGames()) {
+            out.putInt(game.getHomeTeam().getId());
+            out.putInt(game.getAwayTeam().getId());
+            out.putInt(game.getIndex());
+            out.putByte(game.isFinished() ? 1 : 0);
+            if (game.isFinished()) {
+                out.putInt(game.getHomeScore());
+                out.putInt(game.getAwayScore());
+                out.putInt(game.getEventCount());
+                eventCount += game.getEventCount();
+            }
+        }
+        return eventCount;
+    }
+
+    private static void readMetadata(ByteBuffer in, EventStore events, League league) throws IOException {
+        String name = getString(in);
+        long seed = in.getLong();
+        MatchFormat format = new MatchFormat(in.getInt(), in.getInt());
+        MatchModel model = new MatchModel(format, Double.longBitsToDouble(in.getLong()), Double.longBitsToDouble(in.getLong()));
+        TableRules.Tiebreaker[] tiebreakers = new TableRules.Tiebreaker[in.get()];
+        for (int i = 0; i < tiebreakers.length; i++) {
+            int ordinal = in.get();
+            if (ordinal < 0 || ordinal >= TableRules.Tiebreaker.values().length) {
+                throw new IOException("Unknown tiebreaker " + ordinal);
+            }
+            tiebreakers[i] = TableRules.Tiebreaker.values()[ordinal];
+        }
+        TableRules rules = new TableRules(tiebreakers);
+
+        int teamCount = in.getInt();
+        StatsStore stats = new StatsStore(teamCount, 64);
+        List<Team> table = new ArrayList<>();
+        for (int id = 0; id < teamCount; id++) {
+            Team team = new Team(getString(in), stats);
+            if (in.get() != 0) table.add(team);
+            stats.restoreTeam(id, in.getInt(), in.getInt(), in.getInt(), in.getInt(),
+                    in.getInt(), in.getInt(), in.getInt(), in.getInt(), in.getInt());
+            stats.setElo(id, Double.longBitsToDouble(in.getLong()));
+        }
+
+        int playerCount = in.getInt();
+        for (int id = 0; id < playerCount; id++) {
+            Player player = new Player(getString(in), getString(in), stats);
+            int team = in.getInt();
+            if (team >= 0) {
+                stats.team(team).join(player);
+            }
+            stats.restorePlayer(id, in.getInt(), in.getInt());
+            player.setRating(Double.longBitsToDouble(in.getLong()));
+        }
+
+        Schedule schedule = null;
+        int nextRound = 0;
+        int droppedAhead = 0;
+        boolean[] droppedSlots = null;
+        if (in.get() != 0) {
+            boolean doubleRoundRobin = in.get() != 0;
+            List<Team> teams = new ArrayList<>();
+            for (int t = in.getInt(); t > 0; t--) {
+                teams.add(stats.team(in.getInt()));
+            }
+            schedule = new Schedule(teams, doubleRoundRobin);
+            nextRound = in.getInt();
+            droppedAhead = in.getInt();
+            droppedSlots = new boolean[2 * schedule.getMatchesPerRound()];
+            for (int slot = 0; slot < droppedSlots.length; slot++) {
+                droppedSlots[slot] = in.get() != 0;
+            }
+        }
+
+        int gameCount = in.getInt();
+        int nextFixture = in.getInt();
+        List<Game> games = new ArrayList<>(gameCount);
+        int offset = 0;
+        for (int g = 0; g < gameCount; g++) {
+            Game game = new Game(stats.team(in.getInt()), stats.team(in.getInt()), in.getInt());
+            if (in.get() != 0) {
+                int homeScore = in.getInt();
+                int awayScore = in.getInt();
+                int count = in.getInt();
+                game.restore(homeScore, awayScore, events, offset, count);
+                offset += count;
+            }
+            games.add(game);
+        }
+        if (offset != events.size() || in.hasRemaining()) {
+            throw new IOException("Snapshot sections do not match");
+        }
+
+        league.restore(name, seed, stats, table, events, games, nextFixture,
+                schedule, nextRound, droppedSlots, droppedAhead);
+        league.setMatchModel(model);
+        league.setTableRules(rules);
+    }
+
+    private static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Buffered channel writer that can checksum what passes through it
+    private static final class Writer {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+        private CRC32 crc;
+
+        Writer(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        long position() { return position + buffer.position(); }
+
+        void checksum(CRC32 crc) throws IOException {
+            flush();
+            this.crc = crc;
+        }
+
+        void putByte(int value) throws IOException { ensure(1).put((byte) value); }
+        void putInt(int value) throws IOException { ensure(Integer.BYTES).putInt(value); }
+        void putLong(long value) throws IOException { ensure(Long.BYTES).putLong(value); }
+
+        void putString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            for (int from = 0; from < bytes.length; ) {
+                int n = Math.min(bytes.length - from, ensure(1).remaining());
+                buffer.put(bytes, from, n);
+                from += n;
+            }
+        }
+
+        void align(int bytes) throws IOException {
+            while (position() % bytes != 0) putByte(0);
+        }
+
+        void putEvents(EventStore events, int from, int count) throws IOException {
+            while (count > 0) {
+                int n = Math.min(count, ensure(Long.BYTES).remaining() / Long.BYTES);
+                events.copyTo(from, buffer.asLongBuffer(), n);
+                buffer.position(buffer.position() + n * Long.BYTES);
+                from += n;
+                count -= n;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            if (crc != null) crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            buffer.clear();
+        }
+
+        private ByteBuffer ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) flush();
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package org.example.soccer;
+
+import java.io.Closeable;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Live mode: a league's next matchday plays out on the wall clock, one match minute every
+// minuteNanos (60 s for real time, less to speed it up), each event revealed at its minute
+// and each result handed to the league at the final whistle.
+// A game is drawn in full at kick-off from the league's own stream (League.preview), so a
+// live matchday leaves exactly the results, table and ratings that simulateNextMatch() would
+// have for the same fixtures; only the timing is new. Results reach the league in fixture
+// order: a game whose whistle comes early waits for the earlier fixtures still in added time.
+// Every live match of every league shares one thread and a timer wheel with a slot per match
+// minute. A match only sits in the slot of its next event (or its final whistle), so the work
+// is one step per event, and the thread sleeps through minutes with nothing due. Wheel has
+// more slots than a game has minutes, so a match is never more than one lap ahead.
+// While a matchday is live, touch its league only through Matchday.read().
+public final class LiveMatches implements Closeable {
+    private static final int SLOTS = MatchFormat.MAX_MINUTES + 1;
+
+    // Called on the live thread, in minute order; keep them short, the wheel waits
+    public interface Listener {
+        // An event of a live match, kick-off included; the score is already updated
+        void event(Match match, long packedEvent);
+
+        // The final whistle; the result counts once the earlier fixtures are in too
+        default void fullTime(Match match) {
+        }
+
+        // Every result is in the league (or the matchday failed; see whenDone())
+        default void finished(Matchday matchday) {
+        }
+    }
+
+    private final long minuteNanos;
+    private long epoch = System.nanoTime(); // live thread only, like the wheel
+    private final Thread thread;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final List<Matchday> starting = new ArrayList<>(); // handed to the live thread
+    private final Set<Matchday> running = new HashSet<>(); // live thread only
+    private final Set<League> busy = new HashSet<>(); // leagues with a matchday starting or live
+    private boolean closed;
+
+    // Wheel, live thread only: matches by the tick of their next step, in intrusive lists
+    private final Match[] slots = new Match[SLOTS];
+    private final long[] occupied = new long[SLOTS / 64];
+    private long cursor; // ticks before this are done
+    private int onWheel;
+
+    public LiveMatches(long minuteNanos) {
+        if (minuteNanos < 1) throw new IllegalArgumentException("A match minute must take some time");
+        this.minuteNanos = minuteNanos;
+        thread = new Thread(this::run, "live-matches");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public long getMinuteNanos() { return minuteNanos; }
+
+    // Kick off the league's next matchday: its pending fixtures up to the first that repeats a
+    // team. Until it is done the league must not be played any other way
+    public Matchday start(League league, Listener listener) {
+        Objects.requireNonNull(listener);
+        lock.lock();
+        try {
+            if (closed) throw new IllegalStateException("Live matches are closed");
+            if (!busy.add(league)) throw new IllegalStateException(league.getName() + " is already live");
+        } finally {
+            lock.unlock();
+        }
+        Matchday matchday;
+        try {
+            matchday = new Matchday(league, listener);
+        } catch (RuntimeException e) {
+            release(league);
+            throw e;
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                busy.remove(league);
+                throw new IllegalStateException("Live matches are closed");
+            }
+            starting.add(matchday);
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+        return matchday;
+    }
+
+    private void release(League league) {
+        lock.lock();
+        try {
+            busy.remove(league);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Stops the clock; matchdays still going complete with a CancellationException, and
+    // their unfinished games stay pending in the league
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // One league's live fixtures
+    public final class Matchday {
+        private final League league;
+        private final Listener listener;
+        private final Match[] matches;
+        private final List<Match> matchList;
+        private final ReentrantLock leagueLock = new ReentrantLock(true); // fair, so read() gets between results
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private long kickoffTick; // live thread only
+        private volatile long kickoffNanos = -1;
+        private int committed; // live thread only: results handed to the league so far
+
+        private Matchday(League league, Listener listener) {
+            this.league = league;
+            this.listener = listener;
+            List<Game> fixtures = league.nextMatchday();
+            matches = new Match[fixtures.size()];
+            EventStore scratch = new EventStore(64);
+            for (int i = 0; i < matches.length; i++) {
+                scratch.clear();
+                int lastMinute = league.preview(fixtures.get(i), scratch);
+                long[] events = new long[scratch.size()];
+                for (int e = 0; e < events.length; e++) {
+                    events[e] = scratch.get(e);
+                }
+                matches[i] = new Match(this, fixtures.get(i), events, lastMinute);
+            }
+            matchList = Collections.unmodifiableList(Arrays.asList(matches));
+        }
+
+        public League getLeague() { return league; }
+        // In fixture order
+        public List<Match> getMatches() { return matchList; }
+        public boolean isDone() { return done.isDone(); }
+        public CompletableFuture<Void> whenDone() { return done; }
+
+        // Minutes since kick-off, 0 until it happens
+        public int getMinute() {
+            long kickoff = kickoffNanos;
+            if (kickoff < 0) return 0;
+            return (int) Math.min(MatchFormat.MAX_MINUTES, Math.max(0, (System.nanoTime() - kickoff) / minuteNanos));
+        }
+
+        // Run an action against the league while no result is being handed in
+        public void read(Runnable action) {
+            leagueLock.lock();
+            try {
+                action.run();
+            } finally {
+                leagueLock.unlock();
+            }
+        }
+
+        // Hand in every finished result that no earlier fixture is holding up
+        private void commitReady() {
+            while (committed < matches.length && matches[committed].over) {
+                Match match = matches[committed];
+                leagueLock.lock();
+                try {
+                    Game game = league.getNextMatch();
+                    if (game != match.game) {
+                        throw new IllegalStateException(league.getName() + " was played outside its live matchday");
+                    }
+                    league.commitNextMatch(match.homeScore, match.awayScore, match.events, match.events.length);
+                } finally {
+                    leagueLock.unlock();
+                }
+                committed++;
+            }
+            if (committed == matches.length) finish(null);
+        }
+
+        // Once, on the live thread
+        private void finish(Throwable failure) {
+            if (done.isDone()) return;
+            running.remove(this);
+            release(league);
+            try {
+                listener.finished(this);
+            } catch (RuntimeException e) {
+                if (failure == null) failure = e;
+            }
+            if (failure == null) done.complete(null);
+            else done.completeExceptionally(failure);
+        }
+    }
+
+    // One live game: its events drawn at kick-off, revealed as the clock reaches them
+    public final class Match {
+        private final Matchday matchday;
+        private final Game game;
+        private final long[] events;
+        private final int lastMinute;
+        private volatile int revealed;
+        private volatile int homeScore;
+        private volatile int awayScore;
+        private volatile boolean over;
+        private Match next; // wheel list
+
+        private Match(Matchday matchday, Game game, long[] events, int lastMinute) {
+            this.matchday = matchday;
+            this.game = game;
+            this.events = events;
+            this.lastMinute = lastMinute;
+        }
+
+        public Matchday getMatchday() { return matchday; }
+        public Game getGame() { return game; }
+        public Team getHomeTeam() { return game.getHomeTeam(); }
+        public Team getAwayTeam() { return game.getAwayTeam(); }
+        public int getHomeScore() { return homeScore; }
+        public int getAwayScore() { return awayScore; }
+        public boolean isOver() { return over; }
+        // Events so far; the ones before this count can be read
+        public int getRevealedCount() { return revealed; }
+
+        // Match clock, stopped at the final whistle
+        public int getMinute() { return over ? lastMinute : Math.min(lastMinute, matchday.getMinute()); }
+
+        public long getPackedEvent(int i) {
+            Objects.checkIndex(i, revealed);
+            return events[i];
+        }
+
+        public GameEvent getEvent(int i) {
+            return EventStore.decode(getPackedEvent(i), game.getHomeTeam(), game.getAwayTeam());
+        }
+
+        // Reveal what is due by this minute, then go to the slot of the next step
+        private void step(long tick) {
+            int minute = (int) (tick - matchday.kickoffTick);
+            while (revealed < events.length && EventStore.minute(events[revealed]) <= minute) {
+                long event = events[revealed];
+                if (EventStore.type(event) == EventStore.GOAL) {
+                    if (EventStore.isAway(event)) awayScore++;
+                    else homeScore++;
+                }
+                revealed++;
+                matchday.listener.event(this, event);
+            }
+            if (revealed < events.length) {
+                schedule(this, matchday.kickoffTick + EventStore.minute(events[revealed]));
+            } else if (minute < lastMinute) {
+                schedule(this, matchday.kickoffTick + lastMinute);
+            } else {
+                over = true;
+                matchday.listener.fullTime(this);
+                matchday.commitReady();
+            }
+        }
+    }
+
+    private long currentTick() {
+        return (System.nanoTime() - epoch) / minuteNanos;
+    }
+
+    private void run() {
+        while (true) {
+            List<Matchday> kickoffs;
+            lock.lock();
+            try {
+                while (!closed && starting.isEmpty()) {
+                    long wait = onWheel == 0 ? Long.MAX_VALUE : nanosUntil(nextDue());
+                    if (wait <= 0) break;
+                    if (wait == Long.MAX_VALUE) changed.awaitUninterruptibly();
+                    else awaitNanos(wait);
+                }
+                if (closed) break;
+                kickoffs = new ArrayList<>(starting);
+                starting.clear();
+            } finally {
+                lock.unlock();
+            }
+            if (!kickoffs.isEmpty() && onWheel == 0) {
+                // Nothing live: restart the clock so these kick off on a whole minute
+                epoch = System.nanoTime();
+                cursor = 0;
+            }
+            long now = currentTick();
+            if (!kickoffs.isEmpty()) {
+                // Catch up first, so that with the kick-offs the wheel still spans less than a lap
+                advance(now);
+                for (Matchday matchday : kickoffs) {
+                    kickoff(matchday, now);
+                }
+            }
+            advance(now);
+        }
+        List<Matchday> stopped = new ArrayList<>(running);
+        lock.lock();
+        try {
+            stopped.addAll(starting); // never kicked off
+            starting.clear();
+        } finally {
+            lock.unlock();
+        }
+        for (Matchday matchday : stopped) {
+            matchday.finish(new CancellationException("Live matches were closed"));
+        }
+    }
+
+    private void awaitNanos(long nanos) {
+        try {
+            changed.awaitNanos(nanos);
+        } catch (InterruptedException e) {
+            // only close() stops the thread
+        }
+    }
+
+    // Kick-off at a tick the wheel has just been advanced to, which the caller runs straight away
+    private void kickoff(Matchday matchday, long now) {
+        cursor = Math.min(cursor, now); // everything else on the wheel is after now
+        matchday.kickoffTick = now;
+        matchday.kickoffNanos = epoch + now * minuteNanos;
+        running.add(matchday);
+        if (matchday.matches.length == 0) {
+            matchday.finish(null);
+            return;
+        }
+        for (Match match : matchday.matches) {
+            schedule(match, now);
+        }
+    }
+
+    // Run every step due up to and including this tick, skipping empty slots
+    private void advance(long now) {
+        while (onWheel > 0) {
+            long tick = nextDue();
+            if (tick > now) break;
+            int slot = (int) (tick % SLOTS);
+            Match match = slots[slot];
+            slots[slot] = null;
+            occupied[slot >>> 6] &= ~(1L << slot);
+            cursor = tick;
+            while (match != null) {
+                Match following = match.next;
+                match.next = null;
+                onWheel--;
+                if (!match.matchday.isDone()) {
+                    try {
+                        match.step(tick);
+                    } catch (RuntimeException e) {
+                        match.matchday.finish(e);
+                    }
+                }
+                match = following;
+            }
+        }
+        cursor = Math.max(cursor, now + 1);
+    }
+
+    private void schedule(Match match, long tick) {
+        int slot = (int) (tick % SLOTS);
+        match.next = slots[slot];
+        slots[slot] = match;
+        occupied[slot >>> 6] |= 1L << slot;
+        onWheel++;
+    }
+
+    // Tick of the first occupied slot from the cursor on; the wheel is less than a lap long
+    private long nextDue() {
+        int start = (int) (cursor % SLOTS);
+        int word = start >>> 6;
+        long bits = occupied[word] & (-1L << start);
+        for (int i = 0; i <= occupied.length; i++) {
+            if (bits != 0) {
+                int slot = (word << 6) + Long.numberOfTrailingZeros(bits);
+                return cursor + (slot - start + SLOTS) % SLOTS;
+            }
+            word = (word + 1) % occupied.length;
+            bits = occupied[word];
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private long nanosUntil(long tick) {
+        return tick == Long.MAX_VALUE ? Long.MAX_VALUE : epoch + tick * minuteNanos - System.nanoTime();
+    }
+}
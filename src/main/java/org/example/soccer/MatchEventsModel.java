@@ -0,0 +1,129 @@
+package org.example.soccer;
+
+import javafx.collections.ObservableListBase;
+
+import java.util.*;
+
+// Items of the "Match Events" list. Rows are never stored: the model only keeps the
+// finished games it shows and where each one's rows start, and builds a Line handle for
+// a row when the ListView asks for it (i.e. for visible cells). Text is formatted by the
+// cell, from the game's packed events. Each played game is appended as a single change.
+final class MatchEventsModel extends ObservableListBase<MatchEventsModel.Line> {
+    // Per game: blank, "MATCH: ...", separator, one row per event, blank
+    private static final int HEADER_ROWS = 3;
+    private static final int FOOTER_ROWS = 1;
+
+    // One row of the list: which game, and which row within that game's block
+    static final class Line {
+        final Game game;
+        final int row;
+
+        Line(Game game, int row) {
+            this.game = game;
+            this.row = row;
+        }
+    }
+
+    private Game[] games = new Game[64];
+    private int[] firstRow = new int[65];
+    private int gameCount;
+
+    @Override
+    public Line get(int index) {
+        Objects.checkIndex(index, size());
+        // Every block has at least one row, so row starts are strictly increasing
+        int g = Arrays.binarySearch(firstRow, 0, gameCount + 1, index);
+        if (g < 0) g = -g - 2;
+        return new Line(games[g], index - firstRow[g]);
+    }
+
+    @Override
+    public int size() {
+        return firstRow[gameCount];
+    }
+
+    void append(Game game) {
+        if (!game.isFinished() || game.getEventCount() == 0) return;
+        int from = size();
+        add(game);
+        beginChange();
+        nextAdd(from, size());
+        endChange();
+    }
+
+    // Games played since the last update, as one change
+    void appendAll(List<Game> played) {
+        int from = size();
+        for (Game game : played) {
+            if (game.isFinished() && game.getEventCount() > 0) add(game);
+        }
+        if (size() == from) return;
+        beginChange();
+        nextAdd(from, size());
+        endChange();
+    }
+
+    // Replace the contents with every finished game, in fixture order, as one change
+    void reset(List<Game> all) {
+        int oldSize = size();
+        gameCount = 0;
+        for (Game game : all) {
+            if (game.isFinished() && game.getEventCount() > 0) add(game);
+        }
+        beginChange();
+        if (oldSize > 0) nextReplace(0, size(), removedLines(oldSize));
+        else if (size() > 0) nextAdd(0, size());
+        endChange();
+    }
+
+    @Override
+    public void clear() {
+        int oldSize = size();
+        gameCount = 0;
+        Arrays.fill(games, null);
+        if (oldSize > 0) {
+            beginChange();
+            nextReplace(0, 0, removedLines(oldSize));
+            endChange();
+        }
+    }
+
+    private void add(Game game) {
+        if (gameCount == games.length) {
+            games = Arrays.copyOf(games, gameCount * 2);
+            firstRow = Arrays.copyOf(firstRow, gameCount * 2 + 1);
+        }
+        games[gameCount] = game;
+        firstRow[gameCount + 1] = firstRow[gameCount] + HEADER_ROWS + game.getEventCount() + FOOTER_ROWS;
+        gameCount++;
+    }
+
+    static String format(Line line) {
+        Game game = line.game;
+        int events = game.getEventCount();
+        if (line.row == 0 || line.row == HEADER_ROWS + events) return "";
+        if (line.row == 1) return "MATCH: " + game.getResult();
+        if (line.row == 2) return "═══════════════════════════════";
+
+        long event = game.getPackedEvent(line.row - HEADER_ROWS);
+        Team team = EventStore.isAway(event) ? game.getAwayTeam() : game.getHomeTeam();
+        int minute = EventStore.minute(event);
+        int playerId = EventStore.playerId(event);
+        String player = playerId < 0 ? "" : team.getStats().player(playerId).getName();
+        switch (EventStore.type(event)) {
+            case EventStore.GOAL:
+                return String.format("  %d' ⚽ GOAL! %s (%s)", minute, player, team.getName());
+            case EventStore.YELLOW_CARD:
+                return String.format("  %d' 🟨 Yellow Card: %s (%s)", minute, player, team.getName());
+            case EventStore.KICKOFF:
+                return String.format("  %d' ⚽ Kickoff: %s", minute, team.getName());
+            default:
+                return String.format("  %d' ⚡ Possession: %s (%s)", minute, player, team.getName());
+        }
+    }
+
+    // Removed rows were never materialized; report them as placeholders of the right count
+    private static List<Line> removedLines(int count) {
+        return Collections.nCopies(count, null);
+    }
+}
@@ -0,0 +1,347 @@
+package org.example.soccer;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Publishes a league's results and their events to any number of Flow subscribers, so the
+// UI, exporters and the like can follow a season without touching the league.
+// Add it as a result listener. The games of each batch the league reports are copied into
+// immutable Batch items of at most maxBatchGames games, so subscribers read them on their
+// own threads while the season carries on.
+// Each subscriber has a bounded queue of batches and gets them, as fast as it requests them,
+// from a drain task on the executor; a subscriber with demand waiting hears of a batch as
+// soon as it is published. When a queue is full, the subscriber's overflow policy decides:
+// drop its oldest queued batch, drop the new one, or (for consumers that must see every game)
+// make the simulating thread wait for room. Dropped batches show as gaps in the sequences.
+// close() completes every subscriber once its queue has drained.
+public final class MatchFeed implements Flow.Publisher<MatchFeed.Batch>, League.ResultListener, AutoCloseable {
+    public static final int DEFAULT_BUFFER = 64;
+    public static final int DEFAULT_BATCH_GAMES = 1024;
+    private static final int DRAIN_BUDGET = 16; // batches per drain task before it yields the thread
+
+    public enum Overflow { DROP_OLDEST, DROP_LATEST, BLOCK }
+
+    private final Executor executor;
+    private final int maxBatchGames;
+    private final List<Feed> feeds = new CopyOnWriteArrayList<>(); // walked without a lock by publish()
+    private final LongAdder dropped = new LongAdder();
+    private final BatchBuilder pending = new BatchBuilder();
+    private volatile boolean closed;
+
+    // Delivers on the common fork-join pool
+    public MatchFeed() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BATCH_GAMES);
+    }
+
+    public MatchFeed(Executor executor, int maxBatchGames) {
+        if (maxBatchGames < 1) throw new IllegalArgumentException("A batch needs room for at least one game");
+        this.executor = Objects.requireNonNull(executor);
+        this.maxBatchGames = maxBatchGames;
+    }
+
+    // Drops the oldest queued batch when DEFAULT_BUFFER are waiting
+    @Override
+    public void subscribe(Flow.Subscriber<? super Batch> subscriber) {
+        subscribe(subscriber, DEFAULT_BUFFER, Overflow.DROP_OLDEST);
+    }
+
+    public void subscribe(Flow.Subscriber<? super Batch> subscriber, int buffer, Overflow overflow) {
+        Objects.requireNonNull(subscriber);
+        if (buffer < 1) throw new IllegalArgumentException("Buffer must hold at least one batch");
+        Feed feed = new Feed(subscriber, buffer, Objects.requireNonNull(overflow));
+        if (closed) {
+            feed.done = true;
+        } else {
+            feeds.add(feed);
+            if (closed) feed.finish(); // raced with close()
+        }
+        feed.schedule();
+    }
+
+    public int getSubscriberCount() { return feeds.size(); }
+    // Batches dropped across all subscribers
+    public long getDropped() { return dropped.sum(); }
+
+    @Override
+    public void played(Game game, int sequence) {
+        if (closed) return;
+        pending.add(game, sequence);
+        if (pending.size() == maxBatchGames) publish();
+    }
+
+    @Override
+    public void batchEnd() {
+        if (pending.size() > 0 && !closed) publish();
+    }
+
+    // No further batches; each subscriber completes after what it has queued
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        for (Feed feed : feeds) {
+            feed.finish();
+        }
+    }
+
+    private void publish() {
+        Batch batch = pending.build();
+        for (Feed feed : feeds) {
+            feed.offer(batch);
+        }
+    }
+
+    // Finished games with their events, copied out of the league
+    public static final class Batch {
+        private final int[] sequences;
+        private final Game[] games;
+        private final int[] scores; // home, away per game
+        private final int[] eventStarts; // game i's events are [eventStarts[i], eventStarts[i + 1])
+        private final long[] events;
+
+        private Batch(int[] sequences, Game[] games, int[] scores, int[] eventStarts, long[] events) {
+            this.sequences = sequences;
+            this.games = games;
+            this.scores = scores;
+            this.eventStarts = eventStarts;
+            this.events = events;
+        }
+
+        public int size() { return games.length; }
+        // The game's position in play order, as the league reported it
+        public int sequence(int i) { return sequences[i]; }
+        public Game game(int i) { return games[i]; }
+        public int homeScore(int i) { return scores[2 * i]; }
+        public int awayScore(int i) { return scores[2 * i + 1]; }
+        public int eventCount(int i) { return eventStarts[i + 1] - eventStarts[i]; }
+        public int totalEvents() { return events.length; }
+
+        public long packedEvent(int i, int event) {
+            Objects.checkIndex(event, eventCount(i));
+            return events[eventStarts[i] + event];
+        }
+
+        public GameEvent event(int i, int event) {
+            return EventStore.decode(packedEvent(i, event), games[i].getHomeTeam(), games[i].getAwayTeam());
+        }
+
+        // Decoded on access
+        public List<GameEvent> events(int i) {
+            Objects.checkIndex(i, games.length);
+            return new AbstractList<GameEvent>() {
+                @Override
+                public GameEvent get(int event) { return event(i, event); }
+
+                @Override
+                public int size() { return eventCount(i); }
+            };
+        }
+    }
+
+    // Collects one batch on the simulating thread
+    private static final class BatchBuilder {
+        private int[] sequences = new int[16];
+        private Game[] games = new Game[16];
+        private int[] scores = new int[32];
+        private int[] eventStarts = new int[17];
+        private long[] events = new long[256];
+        private int size;
+
+        int size() { return size; }
+
+        void add(Game game, int sequence) {
+            if (size == games.length) {
+                sequences = Arrays.copyOf(sequences, size * 2);
+                games = Arrays.copyOf(games, size * 2);
+                scores = Arrays.copyOf(scores, size * 4);
+                eventStarts = Arrays.copyOf(eventStarts, size * 2 + 1);
+            }
+            int start = eventStarts[size];
+            int count = game.getEventCount();
+            if (start + count > events.length) {
+                events = Arrays.copyOf(events, Math.max(events.length * 2, start + count));
+            }
+            for (int e = 0; e < count; e++) {
+                events[start + e] = game.getPackedEvent(e);
+            }
+            sequences[size] = sequence;
+            games[size] = game;
+            scores[2 * size] = game.getHomeScore();
+            scores[2 * size + 1] = game.getAwayScore();
+            eventStarts[size + 1] = start + count;
+            size++;
+        }
+
+        Batch build() {
+            Batch batch = new Batch(Arrays.copyOf(sequences, size), Arrays.copyOf(games, size),
+                    Arrays.copyOf(scores, 2 * size), Arrays.copyOf(eventStarts, size + 1),
+                    Arrays.copyOf(events, eventStarts[size]));
+            Arrays.fill(games, 0, size, null);
+            size = 0;
+            return batch;
+        }
+    }
+
+    // One subscriber's queue and demand. Signals go out from at most one drain task at a time
+    private final class Feed implements Flow.Subscription {
+        private final Flow.Subscriber<? super Batch> subscriber;
+        private final int buffer;
+        private final Overflow overflow;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition room = lock.newCondition();
+        private final ArrayDeque<Batch> queue = new ArrayDeque<>();
+        private final AtomicInteger work = new AtomicInteger(); // drain requests outstanding
+        private boolean subscribed;
+        private long demand;
+        private boolean done; // no more batches will be queued
+        private boolean cancelled;
+        private Throwable failure; // bad request() argument, reported in place of completion
+
+        Feed(Flow.Subscriber<? super Batch> subscriber, int buffer, Overflow overflow) {
+            this.subscriber = subscriber;
+            this.buffer = buffer;
+            this.overflow = overflow;
+        }
+
+        @Override
+        public void request(long n) {
+            lock.lock();
+            try {
+                if (cancelled) return;
+                if (n <= 0) {
+                    failure = new IllegalArgumentException("Request must be positive: " + n);
+                    done = true;
+                    queue.clear();
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+            } finally {
+                lock.unlock();
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            lock.lock();
+            try {
+                cancelled = true;
+                queue.clear();
+                room.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            feeds.remove(this);
+        }
+
+        void offer(Batch batch) {
+            lock.lock();
+            try {
+                if (cancelled || done) return;
+                if (queue.size() == buffer) {
+                    if (overflow == Overflow.DROP_LATEST) {
+                        dropped.increment();
+                        return;
+                    } else if (overflow == Overflow.DROP_OLDEST) {
+                        queue.poll();
+                        dropped.increment();
+                    } else {
+                        while (queue.size() == buffer && !cancelled) {
+                            room.awaitUninterruptibly();
+                        }
+                        if (cancelled) return;
+                    }
+                }
+                queue.add(batch);
+            } finally {
+                lock.unlock();
+            }
+            schedule();
+        }
+
+        void finish() {
+            lock.lock();
+            try {
+                done = true;
+            } finally {
+                lock.unlock();
+            }
+            schedule();
+        }
+
+        void schedule() {
+            if (work.getAndIncrement() == 0) executor.execute(this::drain);
+        }
+
+        // Hand out what the subscriber has asked for; runs again if signalled meanwhile, and
+        // goes to the back of the executor's queue after a few batches so one subscriber
+        // cannot hold a shared thread
+        private void drain() {
+            int missed = 1;
+            int delivered = 0;
+            do {
+                if (!subscribed) {
+                    subscribed = true;
+                    if (!deliver(() -> subscriber.onSubscribe(this))) return;
+                }
+                while (true) {
+                    Batch batch;
+                    boolean complete;
+                    Throwable error;
+                    lock.lock();
+                    try {
+                        if (cancelled) return;
+                        batch = demand > 0 ? queue.poll() : null;
+                        if (batch != null) {
+                            demand--;
+                            room.signal();
+                        }
+                        complete = batch == null && done && queue.isEmpty();
+                        error = failure;
+                        if (complete) cancelled = true; // terminal: nothing more goes out
+                    } finally {
+                        lock.unlock();
+                    }
+                    if (complete) {
+                        feeds.remove(this);
+                        deliver(() -> {
+                            if (error != null) subscriber.onError(error);
+                            else subscriber.onComplete();
+                        });
+                        return;
+                    }
+                    if (batch == null) break;
+                    if (!deliver(() -> subscriber.onNext(batch))) return;
+                    if (++delivered == DRAIN_BUDGET) {
+                        executor.execute(this::drain); // still counted in work, so nothing else schedules it
+                        return;
+                    }
+                }
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        // A subscriber that throws is cancelled and told why
+        private boolean deliver(Runnable signal) {
+            try {
+                signal.run();
+                return true;
+            } catch (RuntimeException e) {
+                cancel();
+                try {
+                    subscriber.onError(e);
+                } catch (RuntimeException ignored) {
+                    // nothing more to tell it
+                }
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.soccer;
+
+// How long a game runs: regulation minutes plus up to maxStoppage added minutes, drawn per
+// game (0..maxStoppage, uniformly). Events in added time carry minutes past the regulation
+// length, so the whole game has to fit the 10-bit minute field of a packed event.
+public final class MatchFormat {
+    public static final MatchFormat STANDARD = new MatchFormat(90, 0);
+    public static final int MAX_MINUTES = 1023;
+
+    private final int minutes;
+    private final int maxStoppage;
+
+    public MatchFormat(int minutes, int maxStoppage) {
+        if (minutes < 1 || maxStoppage < 0 || minutes + maxStoppage > MAX_MINUTES) {
+            throw new IllegalArgumentException("Match length and stoppage time must fit in 1-"
+                    + MAX_MINUTES + " minutes: " + minutes + " + " + maxStoppage);
+        }
+        this.minutes = minutes;
+        this.maxStoppage = maxStoppage;
+    }
+
+    public int getMinutes() { return minutes; }
+    public int getMaxStoppage() { return maxStoppage; }
+}
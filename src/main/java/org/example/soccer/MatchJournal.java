@@ -0,0 +1,271 @@
+package org.example.soccer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.zip.CRC32;
+
+// Append-only log of played games, so a session can be rebuilt from the last snapshot.
+// Little-endian layout: magic and version, then one record per game:
+//   payload length, CRC32 of the payload,
+//   payload: sequence, game index, home id, away id, home score, away score, event count, packed events
+// Records are buffered and written together: each batch the league reports (one
+// simulateNextMatch or simulateAllMatches call) ends with a single fsync, and a long batch
+// also writes out whenever the buffer fills. A crash can leave a torn last record; it fails
+// the length or checksum test, replay stops in front of it and open() cuts it off.
+// As a result listener the journal writes and syncs on the simulating thread, so a slow disk
+// holds up the games. Following a MatchFeed instead moves that work to the feed's executor.
+public final class MatchJournal implements League.ResultListener, Closeable {
+    private static final int MAGIC = 0x534C4A31; // "SLJ1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int FIXED_PAYLOAD_BYTES = 7 * Integer.BYTES;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32 crc = new CRC32();
+    private long position;
+
+    private MatchJournal(FileChannel channel, long position) {
+        this.channel = channel;
+        this.position = position;
+    }
+
+    // The journal kept next to a snapshot file
+    public static Path beside(Path snapshot) {
+        return snapshot.resolveSibling(snapshot.getFileName() + ".journal");
+    }
+
+    // Open for appending after the last complete record; a torn tail is cut off
+    public static MatchJournal open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long end;
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(VERSION).flip();
+                while (header.hasRemaining()) channel.write(header, header.position());
+                channel.force(true);
+                end = HEADER_BYTES;
+            } else {
+                ByteBuffer records = map(channel, file);
+                readRecords(records, null);
+                end = HEADER_BYTES + records.position();
+                channel.truncate(end);
+            }
+            return new MatchJournal(channel, end);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Apply the journal's games to a league restored from a snapshot. Records the snapshot
+    // already holds are skipped; the rest must continue the league's fixture list.
+    // Returns how many games were applied.
+    public static int replay(Path file, League league) throws IOException {
+        if (!Files.exists(file)) return 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() == 0) return 0;
+            return readRecords(map(channel, file), league);
+        }
+    }
+
+    // Record the feed's batches on its executor, each one on disk before the next is asked
+    // for. The feed must drop nothing, so the journal subscribes with Overflow.BLOCK: the
+    // simulation only waits once the journal is a whole buffer of batches behind. The future
+    // completes once the feed is closed and everything it published is on disk, or with the
+    // error that stopped the journal. Until then the journal is the subscriber's alone.
+    public CompletableFuture<Void> follow(MatchFeed feed, int buffer) {
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        feed.subscribe(new Flow.Subscriber<MatchFeed.Batch>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(MatchFeed.Batch batch) {
+                try {
+                    for (int i = 0; i < batch.size(); i++) {
+                        int count = batch.eventCount(i);
+                        int start = beginRecord(batch.sequence(i), batch.game(i), batch.homeScore(i),
+                                batch.awayScore(i), count);
+                        for (int e = 0; e < count; e++) {
+                            MatchJournal.this.buffer.putLong(batch.packedEvent(i, e));
+                        }
+                        endRecord(start);
+                    }
+                    commit();
+                } catch (IOException e) {
+                    subscription.cancel();
+                    written.completeExceptionally(e);
+                    return;
+                }
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable failure) {
+                written.completeExceptionally(failure);
+            }
+
+            @Override
+            public void onComplete() {
+                written.complete(null);
+            }
+        }, buffer, MatchFeed.Overflow.BLOCK);
+        return written;
+    }
+
+    @Override
+    public void played(Game game, int sequence) {
+        int count = game.getEventCount();
+        int start;
+        try {
+            start = beginRecord(sequence, game, game.getHomeScore(), game.getAwayScore(), count);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write the match journal", e);
+        }
+        for (int i = 0; i < count; i++) {
+            buffer.putLong(game.getPackedEvent(i));
+        }
+        endRecord(start);
+    }
+
+    @Override
+    public void batchEnd() {
+        try {
+            commit();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write the match journal", e);
+        }
+    }
+
+    // Write out everything recorded so far and wait until it is on disk
+    public void commit() throws IOException {
+        write();
+        channel.force(false);
+    }
+
+    // Drop every record, e.g. once a fresh snapshot holds them
+    public void reset() throws IOException {
+        buffer.clear();
+        channel.truncate(HEADER_BYTES);
+        position = HEADER_BYTES;
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            commit();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // Room for the record and its fixed fields; the caller adds the count events and ends it
+    private int beginRecord(int sequence, Game game, int homeScore, int awayScore, int count) throws IOException {
+        int payload = FIXED_PAYLOAD_BYTES + count * Long.BYTES;
+        if (buffer.remaining() < RECORD_HEADER_BYTES + payload) write();
+        int start = buffer.position();
+        buffer.putInt(payload).putInt(0);
+        buffer.putInt(sequence)
+                .putInt(game.getIndex())
+                .putInt(game.getHomeTeam().getId())
+                .putInt(game.getAwayTeam().getId())
+                .putInt(homeScore)
+                .putInt(awayScore)
+                .putInt(count);
+        return start;
+    }
+
+    // Fill in the checksum of the record at start
+    private void endRecord(int start) {
+        ByteBuffer written = buffer.duplicate();
+        written.position(start + RECORD_HEADER_BYTES).limit(buffer.position());
+        crc.reset();
+        crc.update(written);
+        buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+    }
+
+    private void write() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        buffer.clear();
+    }
+
+    // The records after the header, checked for magic and version
+    private static ByteBuffer map(FileChannel channel, Path file) throws IOException {
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) throw new IOException("Journal too large, save a snapshot first: " + file);
+        ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+        if (size < HEADER_BYTES || mapped.getInt() != MAGIC) throw new IOException("Not a match journal: " + file);
+        int version = mapped.getInt();
+        if (version != VERSION) throw new IOException("Unsupported journal version " + version + ": " + file);
+        return mapped.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Walk the complete records, leaving the buffer positioned after the last one, and apply
+    // them to the league if one is given. Returns the number applied.
+    private static int readRecords(ByteBuffer records, League league) throws IOException {
+        CRC32 crc = new CRC32();
+        long[] events = new long[128];
+        int applied = 0;
+        while (records.remaining() >= RECORD_HEADER_BYTES) {
+            int start = records.position();
+            int payload = records.getInt(start);
+            int checksum = records.getInt(start + Integer.BYTES);
+            int end = start + RECORD_HEADER_BYTES + payload;
+            if (payload < FIXED_PAYLOAD_BYTES || payload > records.limit() - start - RECORD_HEADER_BYTES) break;
+            ByteBuffer body = records.duplicate();
+            body.position(start + RECORD_HEADER_BYTES).limit(end);
+            crc.reset();
+            crc.update(body);
+            if ((int) crc.getValue() != checksum) break;
+
+            if (league != null) {
+                records.position(start + RECORD_HEADER_BYTES);
+                int sequence = records.getInt();
+                int index = records.getInt();
+                int home = records.getInt();
+                int away = records.getInt();
+                int homeScore = records.getInt();
+                int awayScore = records.getInt();
+                int count = records.getInt();
+                if (count != (payload - FIXED_PAYLOAD_BYTES) / Long.BYTES) break;
+                if (sequence >= league.getCompletedCount()) {
+                    Game next = league.getNextMatch();
+                    if (sequence != league.getCompletedCount() || next == null || next.getIndex() != index
+                            || next.getHomeTeam().getId() != home || next.getAwayTeam().getId() != away) {
+                        throw new IOException("Journal game " + sequence + " does not continue this league's fixtures");
+                    }
+                    if (count > events.length) events = new long[Math.max(count, events.length * 2)];
+                    for (int i = 0; i < count; i++) {
+                        events[i] = records.getLong();
+                    }
+                    league.replayNextMatch(homeScore, awayScore, events, count);
+                    applied++;
+                }
+            }
+            records.position(end);
+        }
+        return applied;
+    }
+}
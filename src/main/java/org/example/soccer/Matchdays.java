@@ -0,0 +1,105 @@
+package org.example.soccer;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+// Groups fixtures into conflict-free matchdays (no team plays twice in one matchday)
+// and simulates each matchday in parallel. Games only write to their own two teams and
+// squads, so a matchday can run on any number of threads with the same outcome.
+// Each worker records events into its own EventStore; the caller gathers them afterwards.
+public final class Matchdays {
+    private static final int SEQUENTIAL_THRESHOLD = 8;
+
+    private Matchdays() {
+    }
+
+    // Greedy first-fit by fixture order: a game goes into the earliest matchday after the
+    // last one either of its teams already plays in, so each team keeps its fixture order.
+    public static List<Game[]> plan(List<Game> games) {
+        int maxId = 0;
+        for (Game game : games) {
+            maxId = Math.max(maxId, Math.max(game.getHomeTeam().getId(), game.getAwayTeam().getId()));
+        }
+        int[] nextMatchday = new int[maxId + 1];
+        int[] matchdayOf = new int[games.size()];
+        int[] sizes = new int[Math.max(1, games.size())];
+        int matchdayCount = 0;
+
+        for (int i = 0; i < games.size(); i++) {
+            Game game = games.get(i);
+            int home = game.getHomeTeam().getId();
+            int away = game.getAwayTeam().getId();
+            int matchday = Math.max(nextMatchday[home], nextMatchday[away]);
+            nextMatchday[home] = matchday + 1;
+            nextMatchday[away] = matchday + 1;
+            matchdayOf[i] = matchday;
+            sizes[matchday]++;
+            matchdayCount = Math.max(matchdayCount, matchday + 1);
+        }
+
+        List<Game[]> matchdays = new ArrayList<>(matchdayCount);
+        for (int m = 0; m < matchdayCount; m++) {
+            matchdays.add(new Game[sizes[m]]);
+        }
+        int[] filled = new int[matchdayCount];
+        for (int i = 0; i < games.size(); i++) {
+            int m = matchdayOf[i];
+            matchdays.get(m)[filled[m]++] = games.get(i);
+        }
+        return matchdays;
+    }
+
+    // Each game draws from the stream at (seed, game index), so thread count doesn't change results
+    public static void simulate(List<Game> games, int parallelism, long seed, MatchModel model,
+                                Supplier<RandomSource> randomSources) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (Game[] matchday : plan(games)) {
+                pool.invoke(new SimulateRange(matchday, 0, matchday.length, seed, model, randomSources));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static final class SimulateRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Game[] games;
+        private final int from;
+        private final int to;
+        private final long seed;
+        private final MatchModel model;
+        private final Supplier<RandomSource> randomSources;
+
+        SimulateRange(Game[] games, int from, int to, long seed, MatchModel model,
+                      Supplier<RandomSource> randomSources) {
+            this.games = games;
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+            this.model = model;
+            this.randomSources = randomSources;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                long allocated = EngineMetrics.allocated();
+                RandomSource random = randomSources.get();
+                EventStore events = new EventStore();
+                for (int i = from; i < to; i++) {
+                    random.reset(seed, games[i].getIndex());
+                    games[i].simulate(random, events, model);
+                }
+                EngineMetrics.allocated(allocated, to - from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SimulateRange(games, from, mid, seed, model, randomSources),
+                    new SimulateRange(games, mid, to, seed, model, randomSources));
+        }
+    }
+}
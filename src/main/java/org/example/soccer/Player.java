@@ -1,39 +1,109 @@
 package org.example.soccer;
 
-import javafx.beans.property.IntegerProperty;
-import javafx.beans.property.SimpleIntegerProperty;
-import javafx.beans.property.SimpleStringProperty;
-import javafx.beans.property.StringProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
 
 
 public class Player {
-    private final StringProperty name;
-    private final StringProperty position;
-    private final IntegerProperty goalsScored;
-    private final IntegerProperty gamesPlayed;
+    private String name;
+    private String position;
+    private double rating = 1; // relative weight in event picks, see PlayerSelector
+    private StatsStore stats;
+    private int id;
+    private Team team; // the squad this player was signed to, if any
+    private Properties properties; // created on first UI binding
 
     public Player(String name, String position) {
-        this.name = new SimpleStringProperty(name);
-        this.position = new SimpleStringProperty(position);
-        this.goalsScored = new SimpleIntegerProperty(0);
-        this.gamesPlayed = new SimpleIntegerProperty(0);
+        this(name, position, new StatsStore(1, 1));
     }
 
-    // Property getters for JavaFX binding
-    public StringProperty nameProperty() { return name; }
-    public StringProperty positionProperty() { return position; }
-    public IntegerProperty goalsScoredProperty() { return goalsScored; }
-    public IntegerProperty gamesPlayedProperty() { return gamesPlayed; }
+    // Registered straight into a store, e.g. when a snapshot is read back
+    Player(String name, String position, StatsStore stats) {
+        this.name = name;
+        this.position = position;
+        this.stats = stats;
+        this.id = stats.addPlayer(this);
+    }
+
+    // Property getters for JavaFX binding (refreshed by syncProperties())
+    public ReadOnlyStringProperty nameProperty() { return properties().name.getReadOnlyProperty(); }
+    public ReadOnlyStringProperty positionProperty() { return properties().position.getReadOnlyProperty(); }
+    public ReadOnlyIntegerProperty goalsScoredProperty() { return properties().goalsScored.getReadOnlyProperty(); }
+    public ReadOnlyIntegerProperty gamesPlayedProperty() { return properties().gamesPlayed.getReadOnlyProperty(); }
 
     // Regular getters
-    public String getName() { return name.get(); }
-    public String getPosition() { return position.get(); }
-    public int getGoalsScored() { return goalsScored.get(); }
-    public int getGamesPlayed() { return gamesPlayed.get(); }
+    public String getName() { return name; }
+    public String getPosition() { return position; }
+    public double getRating() { return rating; }
+    public int getId() { return id; }
+    public Team getTeam() { return team; }
+    StatsStore getStats() { return stats; }
+    public int getGoalsScored() { return stats.goalsScored(id); }
+    public int getGamesPlayed() { return stats.playerGamesPlayed(id); }
 
     // Setters
-    public void setName(String name) { this.name.set(name); }
-    public void setPosition(String position) { this.position.set(position); }
-    public void addGoal() { this.goalsScored.set(this.goalsScored.get() + 1); }
-    public void addGame() { this.gamesPlayed.set(this.gamesPlayed.get() + 1); }
+    public void setName(String name) {
+        this.name = name;
+        if (properties != null) properties.name.set(name);
+    }
+
+    public void setPosition(String position) {
+        this.position = position;
+        if (properties != null) properties.position.set(position);
+        if (team != null) team.weightsChanged();
+    }
+
+    // 1 is an average player; a 2 is picked twice as often for the same position
+    public void setRating(double rating) {
+        if (!(rating >= 0) || Double.isInfinite(rating)) {
+            throw new IllegalArgumentException("Rating must be a finite number >= 0: " + rating);
+        }
+        this.rating = rating;
+        if (team != null) team.weightsChanged();
+    }
+
+    public void addGoal() { stats.addGoal(id); }
+    public void addGame() { stats.addGame(id); }
+
+    void joinTeam(Team team) { this.team = team; }
+
+    void moveTo(StatsStore target) {
+        // Take the new id first: copying the row may re-rank this player in the target
+        StatsStore from = stats;
+        int fromId = id;
+        stats = target;
+        id = target.addPlayer(this);
+        target.copyPlayer(id, from, fromId);
+    }
+
+    public void syncProperties() {
+        if (properties != null) {
+            properties.goalsScored.set(getGoalsScored());
+            properties.gamesPlayed.set(getGamesPlayed());
+        }
+    }
+
+    private Properties properties() {
+        if (properties == null) {
+            properties = new Properties(this);
+        }
+        return properties;
+    }
+
+    // Kept in its own class so JavaFX is only loaded once something binds to a player
+    private static final class Properties {
+        final ReadOnlyStringWrapper name;
+        final ReadOnlyStringWrapper position;
+        final ReadOnlyIntegerWrapper goalsScored;
+        final ReadOnlyIntegerWrapper gamesPlayed;
+
+        Properties(Player player) {
+            this.name = new ReadOnlyStringWrapper(player.getName());
+            this.position = new ReadOnlyStringWrapper(player.getPosition());
+            this.goalsScored = new ReadOnlyIntegerWrapper(player.getGoalsScored());
+            this.gamesPlayed = new ReadOnlyIntegerWrapper(player.getGamesPlayed());
+        }
+    }
 }
@@ -0,0 +1,127 @@
+package org.example.soccer;
+
+import java.util.List;
+import java.util.Locale;
+
+// Weighted player picks for one squad, one Vose alias table per event type. A player's
+// weight is their position's weight for the event times their rating, so forwards score more
+// and defenders are booked more. Built once per roster (see Team) and read-only afterwards: a
+// pick is one random draw, three array reads and no branch or allocation, whatever the squad size.
+final class PlayerSelector {
+    // Per-player weights by role: goalkeeper, defender, midfielder, forward, unknown position
+    //   goals       ~60% forwards, ~30% midfielders, ~10% defenders in a 1-4-3-3 squad
+    //   cards       defenders and midfielders foul most
+    //   possessions run through midfield
+    private static final double[] GOAL_WEIGHTS = {0.02, 0.6, 2.0, 4.0, 1.0};
+    private static final double[] CARD_WEIGHTS = {0.3, 1.4, 1.2, 0.8, 1.0};
+    private static final double[] POSSESSION_WEIGHTS = {0.5, 1.0, 1.5, 1.0, 1.0};
+    private static final int UNKNOWN = 4;
+
+    private final List<Player> players;
+    private final int version; // the roster's change count this was built from
+    // Per event type and column: the chance of keeping the column, scaled to 2^32, in the high
+    // 33 bits and the column's alias in the low 31, so a pick reads one long
+    private final long[][] tables = new long[EventStore.POSSESSION + 1][];
+
+    PlayerSelector(List<Player> players, int version) {
+        this.players = players;
+        this.version = version;
+        int n = players.size();
+        int[] roles = new int[n];
+        for (int i = 0; i < n; i++) {
+            roles[i] = role(players.get(i).getPosition());
+        }
+        double[] weights = new double[n];
+        for (int type = EventStore.GOAL; type <= EventStore.POSSESSION; type++) {
+            double[] byRole = type == EventStore.GOAL ? GOAL_WEIGHTS
+                    : type == EventStore.YELLOW_CARD ? CARD_WEIGHTS : POSSESSION_WEIGHTS;
+            for (int i = 0; i < n; i++) {
+                weights[i] = byRole[roles[i]] * players.get(i).getRating();
+            }
+            double[] probability = new double[n];
+            int[] alias = new int[n];
+            build(weights, probability, alias);
+            tables[type] = new long[n];
+            for (int i = 0; i < n; i++) {
+                tables[type][i] = Math.round(probability[i] * 0x1.0p32) << 31 | alias[i];
+            }
+        }
+    }
+
+    int getVersion() { return version; }
+
+    // Null for an empty squad
+    Player pick(RandomSource random, int eventType) {
+        int n = players.size();
+        if (n == 0) return null;
+        // High half picks the column, low half decides between it and its alias
+        long bits = random.nextLong();
+        int column = (int) (((bits >>> 32) * n) >>> 32);
+        long entry = tables[eventType][column];
+        // All ones when the low half is under the threshold (keep the column), else zero;
+        // branch-free because the outcome is a coin flip the CPU cannot predict
+        long keep = ((bits & 0xFFFFFFFFL) - (entry >>> 31)) >> 63;
+        return players.get((int) ((column & keep) | (entry & Integer.MAX_VALUE & ~keep)));
+    }
+
+    // Vose's alias method: split the weights into n columns of equal mass, each holding at
+    // most two players, by topping up under-full columns from over-full ones
+    private static void build(double[] weights, double[] probability, int[] alias) {
+        int n = weights.length;
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        double[] scaled = new double[n];
+        for (int i = 0; i < n; i++) {
+            scaled[i] = total > 0 ? weights[i] * n / total : 1; // all zero: uniform
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] -= 1 - scaled[less];
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Whatever is left is full up to rounding error
+        while (largeCount > 0) {
+            int i = large[--largeCount];
+            probability[i] = 1;
+            alias[i] = i;
+        }
+        while (smallCount > 0) {
+            int i = small[--smallCount];
+            probability[i] = 1;
+            alias[i] = i;
+        }
+    }
+
+    // Reads the usual names and abbreviations; anything else weighs the same for every event
+    static int role(String position) {
+        if (position == null) return UNKNOWN;
+        String p = position.trim().toLowerCase(Locale.ROOT);
+        if (p.contains("keeper") || p.equals("gk") || p.equals("g")) return 0;
+        if (p.contains("defen") || p.contains("back") || p.equals("df") || p.equals("d")
+                || p.equals("cb") || p.equals("lb") || p.equals("rb")) return 1;
+        if (p.contains("mid") || p.equals("mf") || p.equals("m")
+                || p.equals("cm") || p.equals("dm") || p.equals("am")) return 2;
+        if (p.contains("forward") || p.contains("striker") || p.contains("wing") || p.contains("attack")
+                || p.equals("fw") || p.equals("f") || p.equals("st") || p.equals("cf")
+                || p.equals("lw") || p.equals("rw")) return 3;
+        return UNKNOWN;
+    }
+}
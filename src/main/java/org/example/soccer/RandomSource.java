@@ -0,0 +1,24 @@
+package org.example.soccer;
+
+// Pluggable random stream for the match engine. A league keeps one season seed and
+// positions a stream at (seed, game index) before each game, so every game draws the
+// same numbers no matter which thread plays it or in what order.
+public interface RandomSource {
+    // Move the stream to the start of one game's draws
+    void reset(long seasonSeed, long gameIndex);
+
+    long nextLong();
+
+    default double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    default boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    // Uniform in [0, bound) by multiply-shift over the high 32 bits
+    default int nextInt(int bound) {
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+}
@@ -0,0 +1,426 @@
+package org.example.soccer;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+// Streaming roster import for leagues of tens of thousands of teams.
+// The input goes through one fixed-size buffer and every row becomes a team or player in the
+// league's own store as soon as it is parsed, so memory grows with the league, never the file.
+//   CSV   one row per player: team,player,position[,rating]. A row without a player adds only
+//         the team; a leading team,player,position[,rating] header is skipped (any case) and
+//         fields may be quoted ("" inside quotes).
+//   JSON  [{"name": ..., "players": [{"name": ..., "position": ..., "rating": ...}, ...]}, ...],
+//         or that array under a top-level "teams" field; other fields are skipped.
+// Ratings are optional and default to 1 (see Player.setRating).
+// A name already in the league, or earlier in the file, adds to that squad. The table and the
+// scorers notify once at the end, even when the input turns out to be malformed part way (the
+// rows before the error stay imported). Fixtures are left for the caller to generate once.
+public final class RosterImporter {
+    private static final int BUFFER_CHARS = 1 << 16;
+    private static final String[] CSV_COLUMNS = {"team", "player", "position", "rating"};
+
+    public static final class Result {
+        private final int teams;
+        private final int players;
+        private final long rows;
+        private final long nanos;
+
+        Result(int teams, int players, long rows, long nanos) {
+            this.teams = teams;
+            this.players = players;
+            this.rows = rows;
+            this.nanos = nanos;
+        }
+
+        // New teams; players may also have joined squads already in the league
+        public int getTeams() { return teams; }
+        public int getPlayers() { return players; }
+        // One per player, plus one per team listed without players
+        public long getRows() { return rows; }
+        public long getNanos() { return nanos; }
+
+        public double getRowsPerSecond() {
+            return nanos == 0 ? 0 : rows * 1e9 / nanos;
+        }
+    }
+
+    private final League league;
+    private final Input in;
+    private final Map<String, Team> teamsByName = new HashMap<>();
+    private final Map<String, String> positions = new HashMap<>(); // one String per distinct position
+    private final List<Team> added = new ArrayList<>();
+    private StatsStore stats;
+    private int players;
+    private long rows;
+
+    private RosterImporter(League league, Reader reader) {
+        this.league = league;
+        this.in = new Input(reader);
+    }
+
+    // .json files are read as JSON, anything else as CSV
+    public static Result importFile(Path file, League league) throws IOException {
+        boolean json = file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json");
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8)) {
+            return new RosterImporter(league, reader).run(json);
+        }
+    }
+
+    public static Result importCsv(Reader reader, League league) throws IOException {
+        return new RosterImporter(league, reader).run(false);
+    }
+
+    public static Result importJson(Reader reader, League league) throws IOException {
+        return new RosterImporter(league, reader).run(true);
+    }
+
+    private Result run(boolean json) throws IOException {
+        long start = System.nanoTime();
+        for (Team team : league.getTeams()) {
+            teamsByName.putIfAbsent(team.getName(), team);
+        }
+        stats = league.beginBulkAdd();
+        try {
+            if (in.peek() == '\uFEFF') in.next(); // byte order mark
+            if (json) {
+                readJson();
+            } else {
+                readCsv();
+            }
+        } finally {
+            league.endBulkAdd(added);
+        }
+        return new Result(added.size(), players, rows, System.nanoTime() - start);
+    }
+
+    private void readCsv() throws IOException {
+        String[] fields = new String[4];
+        boolean first = true;
+        for (int count; (count = in.csvRow(fields)) >= 0; ) {
+            if (count == 1 && fields[0].isEmpty()) continue; // blank line
+            if (first) {
+                first = false;
+                if (isHeader(fields, count)) continue;
+            }
+            if (fields[0].isEmpty()) throw in.error("Row without a team name");
+            Team team = team(fields[0]);
+            if (count > 1 && !fields[1].isEmpty()) {
+                addPlayer(team, fields[1], count > 2 ? fields[2] : "",
+                        count > 3 && !fields[3].isEmpty() ? rating(fields[3]) : 1);
+            }
+            rows++;
+        }
+    }
+
+    // Only a row naming every column is a header; a team called "Team" is still a team
+    private static boolean isHeader(String[] fields, int count) {
+        if (count < 3 || count > CSV_COLUMNS.length) return false;
+        for (int i = 0; i < count; i++) {
+            if (!fields[i].equalsIgnoreCase(CSV_COLUMNS[i])) return false;
+        }
+        return true;
+    }
+
+    private void readJson() throws IOException {
+        if (in.skipSpace() != '{') {
+            readTeams();
+            return;
+        }
+        if (!in.open('{', '}')) return;
+        do {
+            String key = in.string();
+            in.expect(':');
+            if (key.equals("teams")) {
+                readTeams();
+            } else {
+                in.skipValue();
+            }
+        } while (in.more('}'));
+    }
+
+    private void readTeams() throws IOException {
+        if (!in.open('[', ']')) return;
+        // Players listed before their team's name wait here
+        List<Player> waiting = new ArrayList<>();
+        do {
+            Team team = null;
+            int squad = 0;
+            waiting.clear();
+            if (in.open('{', '}')) {
+                do {
+                    String key = in.string();
+                    in.expect(':');
+                    if (key.equals("name") && team == null) {
+                        String name = in.text();
+                        if (name.isEmpty()) throw in.error("Team without a name");
+                        team = team(name);
+                    } else if (key.equals("players")) {
+                        squad += readPlayers(team, waiting);
+                    } else {
+                        in.skipValue();
+                    }
+                } while (in.more('}'));
+            }
+            if (team == null) throw in.error("Team without a name");
+            for (Player player : waiting) {
+                join(team, player);
+            }
+            rows += Math.max(1, squad);
+        } while (in.more(']'));
+    }
+
+    // Players go straight into the team once it is known; returns how many were read
+    private int readPlayers(Team team, List<Player> waiting) throws IOException {
+        if (!in.open('[', ']')) return 0;
+        int count = 0;
+        do {
+            String name = "";
+            String position = "";
+            double rating = 1;
+            if (in.open('{', '}')) {
+                do {
+                    String key = in.string();
+                    in.expect(':');
+                    if (key.equals("name")) {
+                        name = in.text();
+                    } else if (key.equals("position")) {
+                        position = in.text();
+                    } else if (key.equals("rating")) {
+                        String value = in.number();
+                        if (!value.isEmpty()) rating = rating(value);
+                    } else {
+                        in.skipValue();
+                    }
+                } while (in.more('}'));
+            }
+            if (name.isEmpty()) throw in.error("Player without a name");
+            Player player = player(name, position, rating);
+            if (team != null) {
+                join(team, player);
+            } else {
+                waiting.add(player);
+            }
+            count++;
+        } while (in.more(']'));
+        return count;
+    }
+
+    private Team team(String name) {
+        Team team = teamsByName.get(name);
+        if (team == null) {
+            team = new Team(name, stats);
+            teamsByName.put(name, team);
+            added.add(team);
+        }
+        return team;
+    }
+
+    private void addPlayer(Team team, String name, String position, double rating) {
+        join(team, player(name, position, rating));
+    }
+
+    private Player player(String name, String position, double rating) {
+        Player player = new Player(name, positions.computeIfAbsent(position, p -> p), stats);
+        if (rating != 1) player.setRating(rating);
+        return player;
+    }
+
+    private void join(Team team, Player player) {
+        team.join(player);
+        players++;
+    }
+
+    private double rating(String value) throws IOException {
+        try {
+            double rating = Double.parseDouble(value);
+            if (rating >= 0 && !Double.isInfinite(rating)) return rating;
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw in.error("Bad rating " + value);
+    }
+
+    // Character source with one-character lookahead and the small CSV and JSON lexers
+    private static final class Input {
+        private final Reader reader;
+        private final char[] buffer = new char[BUFFER_CHARS];
+        private final StringBuilder text = new StringBuilder();
+        private int position;
+        private int limit;
+        private int line = 1;
+
+        Input(Reader reader) {
+            this.reader = reader;
+        }
+
+        int peek() throws IOException {
+            if (position == limit) {
+                limit = Math.max(0, reader.read(buffer, 0, buffer.length));
+                position = 0;
+                if (limit == 0) return -1;
+            }
+            return buffer[position];
+        }
+
+        int next() throws IOException {
+            int c = peek();
+            if (c >= 0) {
+                position++;
+                if (c == '\n') line++;
+            }
+            return c;
+        }
+
+        IOException error(String message) {
+            return new IOException(message + " (line " + line + ")");
+        }
+
+        // One CSV row into fields, extra fields dropped; returns the field count, -1 at the end
+        int csvRow(String[] fields) throws IOException {
+            if (peek() < 0) return -1;
+            int count = 0;
+            while (true) {
+                text.setLength(0);
+                int c = next();
+                if (c == '"') {
+                    while ((c = next()) != '"' || peek() == '"') {
+                        if (c < 0) throw error("Unterminated quoted field");
+                        if (c == '"') next(); // "" inside quotes
+                        text.append((char) c);
+                    }
+                    c = next();
+                } else {
+                    for (; c >= 0 && c != ',' && c != '\n' && c != '\r'; c = next()) {
+                        text.append((char) c);
+                    }
+                }
+                if (count < fields.length) fields[count] = text.toString().trim();
+                count++;
+                if (c == ',') continue;
+                if (c == '\r' && peek() == '\n') next();
+                if (c < 0 || c == '\n' || c == '\r') return count;
+                throw error("Unexpected text after a quoted field");
+            }
+        }
+
+        int skipSpace() throws IOException {
+            int c;
+            while ((c = peek()) == ' ' || c == '\t' || c == '\n' || c == '\r') {
+                next();
+            }
+            return c;
+        }
+
+        void expect(char expected) throws IOException {
+            if (skipSpace() != expected) throw error("Expected '" + expected + "'");
+            next();
+        }
+
+        // Opens an object or array; false when it is empty (and already closed)
+        boolean open(char open, char close) throws IOException {
+            expect(open);
+            if (skipSpace() != close) return true;
+            next();
+            return false;
+        }
+
+        // After an element: true if another follows, false once the closing bracket is read
+        boolean more(char close) throws IOException {
+            int c = skipSpace();
+            next();
+            if (c == ',') return true;
+            if (c == close) return false;
+            throw error("Expected ',' or '" + close + "'");
+        }
+
+        String string() throws IOException {
+            expect('"');
+            text.setLength(0);
+            for (int c; (c = next()) != '"'; ) {
+                if (c < 0) throw error("Unterminated string");
+                if (c == '\\') c = escape();
+                text.append((char) c);
+            }
+            return text.toString();
+        }
+
+        // A string value, with null read as empty
+        String text() throws IOException {
+            if (skipSpace() == '"') return string();
+            skipValue();
+            return "";
+        }
+
+        // A number value as written, with null read as empty
+        String number() throws IOException {
+            int c = skipSpace();
+            if (c == 'n') {
+                skipValue();
+                return "";
+            }
+            text.setLength(0);
+            while ((c = peek()) >= 0 && (Character.isDigit(c) || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E')) {
+                text.append((char) next());
+            }
+            if (text.length() == 0) throw error("Expected a number");
+            return text.toString();
+        }
+
+        void skipValue() throws IOException {
+            int c = skipSpace();
+            if (c == '"') {
+                string();
+            } else if (c == '{') {
+                if (!open('{', '}')) return;
+                do {
+                    string();
+                    expect(':');
+                    skipValue();
+                } while (more('}'));
+            } else if (c == '[') {
+                if (!open('[', ']')) return;
+                do {
+                    skipValue();
+                } while (more(']'));
+            } else {
+                // number, true, false or null
+                int length = 0;
+                while ((c = peek()) >= 0 && (Character.isLetterOrDigit(c) || c == '-' || c == '+' || c == '.')) {
+                    next();
+                    length++;
+                }
+                if (length == 0) throw error("Expected a value");
+            }
+        }
+
+        private int escape() throws IOException {
+            int c = next();
+            switch (c) {
+                case 'b': return '\b';
+                case 'f': return '\f';
+                case 'n': return '\n';
+                case 'r': return '\r';
+                case 't': return '\t';
+                case 'u':
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(next(), 16);
+                        if (digit < 0) throw error("Bad \\u escape");
+                        code = code * 16 + digit;
+                    }
+                    return code;
+                case '"':
+                case '\\':
+                case '/':
+                    return c;
+                default:
+                    throw error("Bad escape");
+            }
+        }
+    }
+}
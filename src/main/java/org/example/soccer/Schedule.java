@@ -0,0 +1,86 @@
+package org.example.soccer;
+
+import java.util.*;
+
+// Round-robin fixture list by the circle method: slot 0 stays put and the others rotate one
+// place per round, so every round is a full matchday and every pair meets once per leg.
+// Nothing is stored per fixture; any (round, match) is computed on demand in O(1), and the
+// league only turns a round into Game objects when play reaches it.
+// Home and away alternate: every team is at home in half its games (+-1) with the fewest
+// possible back-to-back home or away games, and the second leg swaps every venue.
+// With an odd number of teams the fixed slot is the bye, which keeps every other team
+// strictly alternating home and away.
+public final class Schedule {
+    private final Team[] slots;
+    private final int teamCount;
+    private final int roundsPerLeg;
+    private final int legs;
+    private final int matchesPerRound;
+
+    public Schedule(List<Team> teams, boolean doubleRoundRobin) {
+        this.teamCount = teams.size();
+        int bye = teamCount & 1;
+        this.slots = new Team[teamCount + bye];
+        for (int t = 0; t < teamCount; t++) {
+            slots[t + bye] = teams.get(t);
+        }
+        this.roundsPerLeg = Math.max(0, slots.length - 1);
+        this.legs = doubleRoundRobin ? 2 : 1;
+        this.matchesPerRound = slots.length / 2;
+        if ((long) legs * roundsPerLeg * matchesPerRound > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many teams for one schedule: " + teamCount);
+        }
+    }
+
+    public int getRounds() { return legs * roundsPerLeg; }
+    // Pairings per round, the bye included
+    public int getMatchesPerRound() { return matchesPerRound; }
+    public int getFixturesPerRound() { return teamCount / 2; }
+    // Real fixtures over the whole schedule
+    public int size() { return getRounds() * getFixturesPerRound(); }
+    public boolean isDoubleRoundRobin() { return legs == 2; }
+
+    // Team in a slot, null for the bye
+    public Team team(int slot) { return slots[slot]; }
+
+    public int slotOf(Team team) {
+        for (int s = 0; s < slots.length; s++) {
+            if (slots[s] == team) return s;
+        }
+        return -1;
+    }
+
+    public int homeSlot(int round, int match) {
+        return isReversed(round, match) ? slotAt(round, slots.length - 1 - match) : slotAt(round, match);
+    }
+
+    public int awaySlot(int round, int match) {
+        return isReversed(round, match) ? slotAt(round, match) : slotAt(round, slots.length - 1 - match);
+    }
+
+    // null when the pairing is a bye
+    public Team home(int round, int match) { return slots[homeSlot(round, match)]; }
+    public Team away(int round, int match) { return slots[awaySlot(round, match)]; }
+
+    // Fixture number of a pairing, unique over the schedule; keys the game's random stream
+    public int index(int round, int match) {
+        return round * matchesPerRound + match;
+    }
+
+    // Slot of the team met in the given round by the team in this slot
+    public int opponentSlot(int round, int slot) {
+        int legRound = round % roundsPerLeg;
+        int position = slot == 0 ? 0 : 1 + Math.floorMod(slot - 1 - legRound, roundsPerLeg);
+        return slotAt(round, slots.length - 1 - position);
+    }
+
+    private boolean isReversed(int round, int match) {
+        // The fixed slot alternates by round, the rotating pairs by their position
+        boolean reversed = match == 0 ? (round % roundsPerLeg & 1) == 1 : (match & 1) == 1;
+        return reversed ^ (round >= roundsPerLeg);
+    }
+
+    private int slotAt(int round, int position) {
+        return position == 0 ? 0 : 1 + (position - 1 + round % roundsPerLeg) % roundsPerLeg;
+    }
+}
@@ -0,0 +1,511 @@
+package org.example.soccer;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Monte Carlo projection of the final table from the league's current state.
+// The league is read once into primitive arrays (current points/goals plus the unplayed
+// fixtures); every run then replays only the remaining scores on scratch copies of those
+// arrays, so no Team, Player, Game or GameEvent is copied or touched per run.
+// Each run's table is ranked the way Standings ranks the real one: points, then the league's
+// TableRules, with head-to-head mini-tables over the games played so far and the run's own
+// results, and full ties in registration order.
+// Goals split by the teams' ratings as they stand now; the rating changes and yellow cards a
+// real season would add along the way are left out, so fair play compares today's cards.
+public final class SeasonProjection {
+    private static final int RUNS_PER_CHUNK = 1024;
+    private static final int MAX_TEAMS = 1 << 15;
+    // Sort key: points (18 bits) and up to two per-team tiebreakers (15 bits each, offset by
+    // half their range), leaving 15 bits for the team's slot
+    private static final int POINTS_BITS = 18;
+    private static final int KEY_FIELD_BITS = 15;
+    private static final int KEY_TIEBREAKERS = 2;
+    // Tie groups pack up to three criteria per sort, as in Standings
+    private static final int TIE_FIELD_BITS = 21;
+
+    private final List<Team> teams;
+    // Teams are held in id order (slots), so full ties fall back to registration order;
+    // tableIndex maps a slot back to its place in teams
+    private final int[] tableIndex;
+    private final int[] basePoints;
+    private final int[] baseGoalsFor;
+    private final int[] baseGoalsAgainst;
+    private final int[] baseAwayGoalsFor;
+    private final int[] yellowCards;
+    private final boolean[] canScore;
+    private final int[] homeIndex;
+    private final int[] awayIndex;
+    private final double[] homeGoalShare;
+    private final double[] totalGoalsCdf;
+
+    private final TableRules rules;
+    private final int keyed; // tiebreakers packed into the sort key
+    private final boolean grouped; // rules go beyond the key, so tie groups need resolving
+    // Head-to-head only: every game, the played ones and then the pending fixtures, by home slot
+    private final boolean headToHead;
+    private final int played;
+    private final int[] gameAway;
+    private final int[] baseHomeScore;
+    private final int[] baseAwayScore;
+    private final int[] homeGamesStart;
+    private final int[] homeGames;
+
+    public SeasonProjection(League league) {
+        this.teams = List.copyOf(league.getTeams());
+        int n = teams.size();
+        if (n > MAX_TEAMS) {
+            throw new IllegalArgumentException("Projection supports at most " + MAX_TEAMS + " teams");
+        }
+        this.tableIndex = new int[n];
+        this.basePoints = new int[n];
+        this.baseGoalsFor = new int[n];
+        this.baseGoalsAgainst = new int[n];
+        this.baseAwayGoalsFor = new int[n];
+        this.yellowCards = new int[n];
+        this.canScore = new boolean[n];
+
+        // Team ids are dense per league, so they index straight into the slots
+        Team[] bySlot = teams.toArray(new Team[0]);
+        Arrays.sort(bySlot, Comparator.comparingInt(Team::getId));
+        int[] slotById = new int[league.getStats().teamCount()];
+        Arrays.fill(slotById, -1);
+        for (int s = 0; s < n; s++) {
+            Team team = bySlot[s];
+            slotById[team.getId()] = s;
+            basePoints[s] = team.getPoints();
+            baseGoalsFor[s] = team.getGoalsFor();
+            baseGoalsAgainst[s] = team.getGoalsAgainst();
+            baseAwayGoalsFor[s] = team.getAwayGoalsFor();
+            yellowCards[s] = team.getYellowCards();
+            canScore[s] = !team.getPlayers().isEmpty();
+        }
+        for (int i = 0; i < n; i++) {
+            tableIndex[slotById[teams.get(i).getId()]] = i;
+        }
+
+        int fixtures = league.getRemainingCount();
+        this.homeIndex = new int[fixtures];
+        this.awayIndex = new int[fixtures];
+        this.homeGoalShare = new double[fixtures];
+        MatchModel model = league.getMatchModel();
+        int[] f = {0};
+        league.forEachPendingFixture((home, away) -> {
+            homeIndex[f[0]] = slotById[home.getId()];
+            awayIndex[f[0]] = slotById[away.getId()];
+            homeGoalShare[f[0]] = model.homeGoalShare(home.getElo(), away.getElo());
+            f[0]++;
+        });
+
+        this.totalGoalsCdf = model.totalGoalsCdf();
+
+        this.rules = league.getTableRules();
+        int k = 0;
+        while (k < Math.min(KEY_TIEBREAKERS, rules.size()) && rules.get(k) != TableRules.Tiebreaker.HEAD_TO_HEAD) {
+            k++;
+        }
+        this.keyed = k;
+        this.grouped = rules.size() > k;
+        this.headToHead = rules.getTiebreakers().contains(TableRules.Tiebreaker.HEAD_TO_HEAD);
+        if (!headToHead) {
+            this.played = 0;
+            this.gameAway = new int[0];
+            this.baseHomeScore = new int[0];
+            this.baseAwayScore = new int[0];
+            this.homeGamesStart = new int[0];
+            this.homeGames = new int[0];
+            return;
+        }
+
+        List<Game> results = league.getGames().subList(0, league.getCompletedCount());
+        int[] gameHome = new int[results.size() + fixtures];
+        int[] away = new int[gameHome.length];
+        int[] homeScores = new int[gameHome.length];
+        int[] awayScores = new int[gameHome.length];
+        int g = 0;
+        for (Game game : results) {
+            int h = slotOf(game.getHomeTeam(), slotById, bySlot);
+            int a = slotOf(game.getAwayTeam(), slotById, bySlot);
+            if (h < 0 || a < 0) continue; // a team since removed
+            gameHome[g] = h;
+            away[g] = a;
+            homeScores[g] = game.getHomeScore();
+            awayScores[g] = game.getAwayScore();
+            g++;
+        }
+        this.played = g;
+        System.arraycopy(homeIndex, 0, gameHome, g, fixtures);
+        System.arraycopy(awayIndex, 0, away, g, fixtures);
+        int total = g + fixtures;
+        this.gameAway = Arrays.copyOf(away, total);
+        // The fixtures' scores are filled in per run
+        this.baseHomeScore = Arrays.copyOf(homeScores, total);
+        this.baseAwayScore = Arrays.copyOf(awayScores, total);
+        this.homeGamesStart = new int[n + 1];
+        for (int i = 0; i < total; i++) {
+            homeGamesStart[gameHome[i] + 1]++;
+        }
+        for (int s = 0; s < n; s++) {
+            homeGamesStart[s + 1] += homeGamesStart[s];
+        }
+        this.homeGames = new int[total];
+        int[] next = Arrays.copyOf(homeGamesStart, n);
+        for (int i = 0; i < total; i++) {
+            homeGames[next[gameHome[i]]++] = i;
+        }
+    }
+
+    // The team's slot, or -1 if it is not in this projection
+    private static int slotOf(Team team, int[] slotById, Team[] bySlot) {
+        int id = team.getId();
+        if (id >= slotById.length || slotById[id] < 0) return -1;
+        return bySlot[slotById[id]] == team ? slotById[id] : -1;
+    }
+
+    public List<Team> getTeams() { return teams; }
+    public int getRemainingFixtures() { return homeIndex.length; }
+
+    public Result run(int runs, int parallelism, long seed) {
+        int n = teams.size();
+        if (runs <= 0 || n == 0) {
+            return new Result(teams, new long[n * n], Math.max(runs, 0));
+        }
+        int chunks = (runs + RUNS_PER_CHUNK - 1) / RUNS_PER_CHUNK;
+        int workers = Math.max(1, Math.min(parallelism, chunks));
+        // Chunk streams are split up front, so results depend on the seed but not on thread count
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            streams[c] = root.split();
+        }
+        List<Worker> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            tasks.add(new Worker(w, workers, runs, streams));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        long[] positionCounts = new long[n * n];
+        try {
+            for (Worker task : tasks) {
+                pool.execute(task);
+            }
+            for (Worker task : tasks) {
+                long[] counts = task.join();
+                for (int i = 0; i < counts.length; i++) {
+                    positionCounts[i] += counts[i];
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return new Result(teams, positionCounts, runs);
+    }
+
+    // Plays every workers-th chunk into one counts table, so memory stays at workers x n^2
+    private final class Worker extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int first;
+        private final int stride;
+        private final int runs;
+        private final SplittableRandom[] streams;
+
+        // Per-run scratch, by slot unless noted
+        private int[] points;
+        private int[] goalsFor;
+        private int[] goalsAgainst;
+        private int[] awayGoalsFor;
+        private int[] homeScore; // by game, head-to-head only
+        private int[] awayScore;
+        private long[] keys; // by rank
+        private int[] order; // slots in rank order
+        private long[] tieValue;
+        private int[] mark; // current group stamp
+        private int stamp;
+        private int[] miniTable; // points, goals for, goals against
+        private long[] sortValues;
+        private long[] sortKeys;
+
+        Worker(int first, int stride, int runs, SplittableRandom[] streams) {
+            this.first = first;
+            this.stride = stride;
+            this.runs = runs;
+            this.streams = streams;
+        }
+
+        @Override
+        protected long[] compute() {
+            int n = teams.size();
+            long[] counts = new long[n * n];
+            points = new int[n];
+            goalsFor = new int[n];
+            goalsAgainst = new int[n];
+            awayGoalsFor = new int[n];
+            homeScore = baseHomeScore.clone();
+            awayScore = baseAwayScore.clone();
+            keys = new long[n];
+            order = new int[n];
+            tieValue = new long[n];
+            mark = new int[n];
+            miniTable = new int[3 * n];
+            sortValues = new long[n];
+            sortKeys = new long[n];
+
+            for (int c = first; c < streams.length; c += stride) {
+                int chunkRuns = Math.min(RUNS_PER_CHUNK, runs - c * RUNS_PER_CHUNK);
+                playChunk(chunkRuns, streams[c], counts);
+            }
+            return counts;
+        }
+
+        private void playChunk(int runs, SplittableRandom random, long[] counts) {
+            int n = teams.size();
+            for (int r = 0; r < runs; r++) {
+                System.arraycopy(basePoints, 0, points, 0, n);
+                System.arraycopy(baseGoalsFor, 0, goalsFor, 0, n);
+                System.arraycopy(baseGoalsAgainst, 0, goalsAgainst, 0, n);
+                System.arraycopy(baseAwayGoalsFor, 0, awayGoalsFor, 0, n);
+
+                for (int f = 0; f < homeIndex.length; f++) {
+                    int home = homeIndex[f];
+                    int away = awayIndex[f];
+                    // Same model as Game.simulate(): each minute scores with GOAL_CHANCE, so total
+                    // goals are binomial over the game's length, and each goal's side is drawn
+                    int total = sampleTotalGoals(random.nextDouble());
+                    int homeGoals = 0;
+                    for (int g = 0; g < total; g++) {
+                        if (random.nextDouble() < homeGoalShare[f]) homeGoals++;
+                    }
+                    int awayGoals = total - homeGoals;
+                    if (!canScore[home]) homeGoals = 0;
+                    if (!canScore[away]) awayGoals = 0;
+
+                    goalsFor[home] += homeGoals;
+                    goalsAgainst[home] += awayGoals;
+                    goalsFor[away] += awayGoals;
+                    goalsAgainst[away] += homeGoals;
+                    awayGoalsFor[away] += awayGoals;
+                    if (headToHead) {
+                        homeScore[played + f] = homeGoals;
+                        awayScore[played + f] = awayGoals;
+                    }
+                    if (homeGoals > awayGoals) {
+                        points[home] += 3;
+                    } else if (awayGoals > homeGoals) {
+                        points[away] += 3;
+                    } else {
+                        points[home]++;
+                        points[away]++;
+                    }
+                }
+                rank(counts);
+            }
+        }
+
+        // Sort by points and the keyed tiebreakers, with the slot in the low bits so teams
+        // level on the key stay in id order, then resolve the tie groups by the rest of the rules
+        private void rank(long[] counts) {
+            int n = teams.size();
+            int slotBits = 32 - Integer.numberOfLeadingZeros(Math.max(1, n - 1));
+            long slotMask = (1L << slotBits) - 1;
+            for (int s = 0; s < n; s++) {
+                long key = Math.min(points[s], (1 << POINTS_BITS) - 1);
+                for (int i = 0; i < keyed; i++) {
+                    key = key << KEY_FIELD_BITS | field(valueOf(rules.get(i), s), KEY_FIELD_BITS);
+                }
+                keys[s] = key << slotBits | (n - 1 - s);
+            }
+            Arrays.sort(keys, 0, n);
+            for (int position = 0; position < n; position++) {
+                order[position] = n - 1 - (int) (keys[n - 1 - position] & slotMask);
+            }
+            if (grouped) {
+                int start = 0;
+                for (int position = 1; position <= n; position++) {
+                    if (position < n && keys[n - 1 - position] >>> slotBits == keys[n - 1 - start] >>> slotBits) continue;
+                    resolve(start, position, keyed);
+                    start = position;
+                }
+            }
+            for (int position = 0; position < n; position++) {
+                counts[tableIndex[order[position]] * n + position]++;
+            }
+        }
+
+        // A per-team criterion, higher is better
+        private long valueOf(TableRules.Tiebreaker tiebreaker, int s) {
+            switch (tiebreaker) {
+                case GOAL_DIFFERENCE: return goalsFor[s] - goalsAgainst[s];
+                case GOALS_FOR: return goalsFor[s];
+                case AWAY_GOALS: return awayGoalsFor[s];
+                case FAIR_PLAY: return -yellowCards[s];
+                default: throw new IllegalArgumentException("Not a per-team criterion: " + tiebreaker);
+            }
+        }
+
+        // Order order[from, to) by rules.get(rule) onwards; the slots come in id order
+        private void resolve(int from, int to, int rule) {
+            if (to - from < 2 || rule == rules.size()) return;
+            int next = rule + 1;
+            if (rules.get(rule) == TableRules.Tiebreaker.HEAD_TO_HEAD) {
+                miniTable(from, to);
+            } else {
+                // Up to three per-team criteria in a row share one sort
+                while (next < rules.size() && next - rule < 3 && rules.get(next) != TableRules.Tiebreaker.HEAD_TO_HEAD) {
+                    next++;
+                }
+                for (int i = from; i < to; i++) {
+                    long packed = 0;
+                    for (int r = rule; r < next; r++) {
+                        packed = packed << TIE_FIELD_BITS | field(valueOf(rules.get(r), order[i]), TIE_FIELD_BITS);
+                    }
+                    tieValue[order[i]] = packed;
+                }
+            }
+            sortGroup(from, to);
+            // Runs still level go on to the next criterion; a run's values are only overwritten
+            // once the scan has passed it
+            int start = from;
+            for (int i = from + 1; i <= to; i++) {
+                if (i < to && tieValue[order[i]] == tieValue[order[start]]) continue;
+                resolve(start, i, next);
+                start = i;
+            }
+        }
+
+        // Head-to-head among exactly these teams: points, goal difference and goals for from
+        // their games against each other, played or in this run, packed into tieValue
+        private void miniTable(int from, int to) {
+            if (++stamp == 0) {
+                Arrays.fill(mark, 0);
+                stamp = 1;
+            }
+            for (int i = from; i < to; i++) {
+                int s = order[i];
+                mark[s] = stamp;
+                miniTable[3 * s] = 0;
+                miniTable[3 * s + 1] = 0;
+                miniTable[3 * s + 2] = 0;
+            }
+            for (int i = from; i < to; i++) {
+                int home = order[i];
+                for (int g = homeGamesStart[home]; g < homeGamesStart[home + 1]; g++) {
+                    int game = homeGames[g];
+                    int away = gameAway[game];
+                    if (mark[away] != stamp) continue;
+                    int homeGoals = homeScore[game];
+                    int awayGoals = awayScore[game];
+                    miniTable[3 * home] += homeGoals > awayGoals ? 3 : homeGoals == awayGoals ? 1 : 0;
+                    miniTable[3 * away] += awayGoals > homeGoals ? 3 : homeGoals == awayGoals ? 1 : 0;
+                    miniTable[3 * home + 1] += homeGoals;
+                    miniTable[3 * home + 2] += awayGoals;
+                    miniTable[3 * away + 1] += awayGoals;
+                    miniTable[3 * away + 2] += homeGoals;
+                }
+            }
+            for (int i = from; i < to; i++) {
+                int s = order[i];
+                int scored = miniTable[3 * s + 1];
+                tieValue[s] = (field(miniTable[3 * s], TIE_FIELD_BITS) << TIE_FIELD_BITS
+                        | field(scored - miniTable[3 * s + 2], TIE_FIELD_BITS)) << TIE_FIELD_BITS
+                        | field(scored, TIE_FIELD_BITS);
+            }
+        }
+
+        // Order order[from, to) by tieValue, highest first and equal values by slot, with two
+        // primitive sorts as in Standings: the distinct values, then each slot packed under its
+        // value's rank. The slots come in id order, so when every value is the same there is
+        // nothing to do
+        private void sortGroup(int from, int to) {
+            int n = to - from;
+            long first = tieValue[order[from]];
+            int same = from + 1;
+            while (same < to && tieValue[order[same]] == first) {
+                same++;
+            }
+            if (same == to) return;
+            for (int i = 0; i < n; i++) {
+                sortValues[i] = tieValue[order[from + i]];
+            }
+            Arrays.sort(sortValues, 0, n);
+            int distinct = 0;
+            for (int i = 0; i < n; i++) {
+                if (i == 0 || sortValues[i] != sortValues[distinct - 1]) sortValues[distinct++] = sortValues[i];
+            }
+            for (int i = 0; i < n; i++) {
+                int s = order[from + i];
+                long rank = distinct - 1 - Arrays.binarySearch(sortValues, 0, distinct, tieValue[s]);
+                sortKeys[i] = rank << 32 | s;
+            }
+            Arrays.sort(sortKeys, 0, n);
+            for (int i = 0; i < n; i++) {
+                order[from + i] = (int) sortKeys[i];
+            }
+        }
+    }
+
+    private int sampleTotalGoals(double u) {
+        int goals = 0;
+        while (goals < totalGoalsCdf.length - 1 && u >= totalGoalsCdf[goals]) {
+            goals++;
+        }
+        return goals;
+    }
+
+    // Clamped into an unsigned field of the given width, offset by half its range
+    private static long field(long value, int bits) {
+        return Math.max(0, Math.min((1L << bits) - 1, value + (1L << (bits - 1))));
+    }
+
+    public static final class Result {
+        private final List<Team> teams;
+        private final long[] positionCounts;
+        private final int runs;
+
+        Result(List<Team> teams, long[] positionCounts, int runs) {
+            this.teams = teams;
+            this.positionCounts = positionCounts;
+            this.runs = runs;
+        }
+
+        public List<Team> getTeams() { return teams; }
+        public int getRuns() { return runs; }
+
+        // Probability of finishing in the given 1-based position
+        public double positionProbability(Team team, int position) {
+            int n = teams.size();
+            if (runs == 0 || position < 1 || position > n) return 0;
+            return (double) positionCounts[indexOf(team) * n + position - 1] / runs;
+        }
+
+        public double[] positionProbabilities(Team team) {
+            int n = teams.size();
+            double[] probabilities = new double[n];
+            for (int position = 1; position <= n; position++) {
+                probabilities[position - 1] = positionProbability(team, position);
+            }
+            return probabilities;
+        }
+
+        public double titleOdds(Team team) { return rangeProbability(team, 1, 1); }
+        public double topFourOdds(Team team) { return rangeProbability(team, 1, 4); }
+        public double bottomThreeOdds(Team team) { return rangeProbability(team, teams.size() - 2, teams.size()); }
+
+        // Probability of finishing anywhere between two 1-based positions (inclusive)
+        public double rangeProbability(Team team, int fromPosition, int toPosition) {
+            double sum = 0;
+            for (int position = Math.max(1, fromPosition); position <= Math.min(teams.size(), toPosition); position++) {
+                sum += positionProbability(team, position);
+            }
+            return sum;
+        }
+
+        private int indexOf(Team team) {
+            int index = teams.indexOf(team);
+            if (index < 0) {
+                throw new IllegalArgumentException(team.getName() + " is not part of this projection");
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.soccer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Plays a league's remaining fixtures on another thread, one bulk chunk at a time, so the
+// starting thread (e.g. the FX thread) stays free. Chunks are sized to take about CHUNK_NANOS,
+// which bounds how long cancel() and read() can wait.
+// Chunks leave the table and the scorers to be re-ranked by read(), which runs an action
+// against the league while no chunk is in progress (e.g. once per UI pulse), and at the
+// end. Until the run is done the league must not be touched any other way, and its
+// listeners hear from the simulating thread.
+public final class SeasonRun {
+    private static final long CHUNK_NANOS = 10_000_000L;
+    static final int FIRST_CHUNK = 64;
+
+    private final League league;
+    private final int total;
+    private final ReentrantLock lock = new ReentrantLock(true); // fair, so readers get in between chunks
+    private final CompletableFuture<Integer> done = new CompletableFuture<>();
+    private volatile int played;
+    private volatile boolean cancelled;
+
+    private SeasonRun(League league) {
+        this.league = league;
+        this.total = league.getRemainingCount();
+    }
+
+    public static SeasonRun start(League league, Executor executor) {
+        SeasonRun run = new SeasonRun(league);
+        executor.execute(run::play);
+        return run;
+    }
+
+    public League getLeague() { return league; }
+    public int getTotal() { return total; }
+    public int getPlayed() { return played; }
+    public boolean isCancelled() { return cancelled; }
+    public boolean isDone() { return done.isDone(); }
+
+    // Completes with the number of games played, or exceptionally if simulating failed
+    public CompletableFuture<Integer> whenDone() { return done; }
+
+    // Stop after the chunk in progress; the games played so far stay played
+    public void cancel() { cancelled = true; }
+
+    public void read(Runnable action) {
+        lock.lock();
+        try {
+            league.rankIfStale();
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Games for the next chunk: steer towards the target time, at most doubling or halving
+    static int nextChunk(int chunk, long elapsedNanos, long targetNanos) {
+        long next = chunk * targetNanos / Math.max(1, elapsedNanos);
+        return (int) Math.max(Math.max(1, chunk / 2), Math.min(next, Math.min(2L * chunk, 1 << 24)));
+    }
+
+    private void play() {
+        try {
+            int chunk = FIRST_CHUNK;
+            while (!cancelled) {
+                long start = System.nanoTime();
+                int n;
+                lock.lock();
+                try {
+                    n = league.simulateMatchesUnranked(chunk);
+                } finally {
+                    lock.unlock();
+                }
+                if (n == 0) break;
+                played += n; // only this thread writes it
+                chunk = nextChunk(chunk, System.nanoTime() - start, CHUNK_NANOS);
+            }
+            read(() -> { });
+            done.complete(played);
+        } catch (Throwable e) {
+            done.completeExceptionally(e);
+        }
+    }
+}
@@ -1,28 +1,106 @@
 package org.example.soccer;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.*;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import javafx.collections.*;
 import javafx.util.StringConverter;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntSupplier;
+
 
 public class SimpleSoccerApp extends Application {
     private League league;
     private TableView<Team> leagueTable;
     private TableView<Player> playersTable;
     private ListView<String> resultsListView;
-    private ListView<String> eventsListView;
-    private ObservableList<Player> allPlayers;
+    private ListView<MatchEventsModel.Line> eventsListView;
+    private MatchEventsModel matchEvents;
+    private MatchJournal journal; // records results since the last save or load
+    private MatchFeed journalFeed; // hands the journal each batch on its own thread
+    private CompletableFuture<Void> journalWritten;
+    private ObservableList<Player> scorerRows;
+    private ObservableList<Team> tableRows;
+    // Set when a run moved rows on its own thread, where the mirrors can't follow
+    private volatile boolean tableStale;
+    private volatile boolean scorersStale;
     private boolean allMatchesPlayed = false; // Track if all matches have been played
 
+    // "Play All Matches" runs on the simulation thread; the UI catches up once per pulse
+    private final ExecutorService simulationExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "season-simulation");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // The journal writes and syncs here, so a slow disk does not hold up the games
+    private static final int JOURNAL_BUFFER = 16; // batches queued before the games wait
+    private final ExecutorService journalExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "match-journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private SeasonRun simulation;
+    private AnimationTimer publisher;
+    private int shownResults; // games already in the results and events lists
+    private ProgressBar progressBar;
+    private HBox progressRow;
+    private Node[] leagueControls; // disabled while a run owns the league
+
+    // "Play Matchday Live" plays the next matchday on a scaled clock, a match minute every 0.2 s
+    private static final long LIVE_MINUTE_NANOS = 200_000_000L;
+    private LiveMatches liveMatches; // started on first use
+    private LiveMatches.Matchday liveMatchday;
+    private volatile boolean liveChanged; // an event came in since the last pulse
+    private ListView<LiveMatches.Match> liveListView;
+    private Tab liveTab;
+    private Label liveClock;
+
     @Override
     public void start(Stage primaryStage) {
         league = new League("Premier League");
+        EngineMetrics.registerMBean();
+        tableRows = FXCollections.observableArrayList();
+        // Mirror the league's incremental table: a result moves at most two rows
+        league.getStandings().addListener(new Standings.Listener() {
+            @Override
+            public void moved(Team team, int from, int to) {
+                // Live results go in on the live thread; the next pulse copies the table over
+                if (!Platform.isFxApplicationThread()) {
+                    tableStale = true;
+                    return;
+                }
+                if (from >= 0) tableRows.remove(from);
+                if (to >= 0) tableRows.add(to, team);
+            }
+
+            @Override
+            public void reordered() {
+                // A background run re-ranks on its own thread when it ends; publishProgress() picks that up
+                if (!Platform.isFxApplicationThread()) {
+                    tableStale = true;
+                    return;
+                }
+                tableRows.setAll(league.getTeams());
+            }
+        });
 
         primaryStage.setTitle("⚽ Soccer League Manager");
         primaryStage.setMinWidth(850);
@@ -59,14 +137,16 @@ public class SimpleSoccerApp extends Application {
 
         Button addTeamBtn = createStyledButton("Add Team", "#4CAF50");
         Button loadSampleBtn = createStyledButton("Load Sample Teams", "#4CAF50");
+        Button importBtn = createStyledButton("Import Roster", "#4CAF50");
 
         addTeamBtn.setOnAction(e -> addTeam(teamNameField));
         loadSampleBtn.setOnAction(e -> loadSampleData());
+        importBtn.setOnAction(e -> importRoster(primaryStage));
 
         Label teamLabel = new Label("Team Name:");
         teamLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold;");
 
-        teamCreation.getChildren().addAll(teamLabel, teamNameField, addTeamBtn, loadSampleBtn);
+        teamCreation.getChildren().addAll(teamLabel, teamNameField, addTeamBtn, loadSampleBtn, importBtn);
 
         // Team removal section (now includes both remove and clear all buttons)
         HBox teamManagement = new HBox(10);
@@ -74,7 +154,7 @@ public class SimpleSoccerApp extends Application {
         teamManagement.setPadding(new Insets(10));
 
         ComboBox<Team> teamSelector = new ComboBox<>();
-        teamSelector.setItems(league.getTeams());
+        teamSelector.setItems(tableRows);
         teamSelector.setStyle(getComboBoxStyle());
         teamSelector.setConverter(new StringConverter<Team>() {
             @Override
@@ -114,14 +194,47 @@ public class SimpleSoccerApp extends Application {
 
         Button nextMatchBtn = createStyledButton("Play Next Match", "linear-gradient(to bottom, #FF9800, #FFC107)");
         Button allMatchesBtn = createStyledButton("Play All Matches", "linear-gradient(to bottom, #FF9800, #FFC107)");
+        Button liveBtn = createStyledButton("Play Matchday Live", "linear-gradient(to bottom, #FF9800, #FFC107)");
         Button resetBtn = createStyledButton("Reset Season", "linear-gradient(to bottom, #FF9800, #FFC107)");
 
         nextMatchBtn.setOnAction(e -> playNextMatch());
         allMatchesBtn.setOnAction(e -> playAllMatches());
+        liveBtn.setOnAction(e -> playMatchdayLive());
         resetBtn.setOnAction(e -> resetSeason());
 
-        controls.getChildren().addAll(nextMatchBtn, allMatchesBtn, resetBtn);
-        controlsSection.getChildren().addAll(controlsTitle, controls);
+        Button saveBtn = createStyledButton("Save Season", "linear-gradient(to bottom, #2196F3, #03A9F4)");
+        Button loadBtn = createStyledButton("Load Season", "linear-gradient(to bottom, #2196F3, #03A9F4)");
+
+        saveBtn.setOnAction(e -> saveSeason(primaryStage));
+        loadBtn.setOnAction(e -> loadSeason(primaryStage));
+
+        controls.getChildren().addAll(nextMatchBtn, allMatchesBtn, liveBtn, resetBtn, saveBtn, loadBtn);
+
+        // Shown while "Play All Matches" runs in the background, or a matchday is live
+        progressRow = new HBox(15);
+        progressRow.setAlignment(Pos.CENTER);
+        progressBar = new ProgressBar(0);
+        progressBar.setPrefWidth(400);
+        Button cancelBtn = createStyledButton("Cancel", "#F44336");
+        cancelBtn.setOnAction(e -> {
+            if (simulation != null) simulation.cancel();
+            else if (liveMatchday != null) stopLive();
+        });
+        liveClock = new Label();
+        liveClock.setStyle("-fx-text-fill: white; -fx-font-weight: bold;");
+        progressRow.getChildren().addAll(liveClock, progressBar, cancelBtn);
+        progressRow.setVisible(false);
+        progressRow.setManaged(false);
+
+        controlsSection.getChildren().addAll(controlsTitle, controls, progressRow);
+        leagueControls = new Node[]{teamSection, controls};
+        publisher = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                if (simulation != null) publishProgress();
+                else publishLive();
+            }
+        };
 
         // Enhanced TabPane
         TabPane tabPane = new TabPane();
@@ -136,7 +249,7 @@ public class SimpleSoccerApp extends Application {
         leagueTab.setClosable(false);
 
         leagueTable = new TableView<>();
-        leagueTable.setItems(league.getTeams());
+        leagueTable.setItems(tableRows);
         leagueTable.setStyle(getTableStyle());
 
         setupLeagueTableColumns();
@@ -148,8 +261,29 @@ public class SimpleSoccerApp extends Application {
 
         playersTable = new TableView<>();
         playersTable.setStyle(getTableStyle());
-        allPlayers = FXCollections.observableArrayList();
-        playersTable.setItems(allPlayers);
+        scorerRows = FXCollections.observableArrayList();
+        // Mirror the league's scorer ranking: a goal moves one row
+        league.getTopScorers().addListener(new TopScorers.Listener() {
+            @Override
+            public void moved(Player player, int from, int to) {
+                if (!Platform.isFxApplicationThread()) {
+                    scorersStale = true;
+                    return;
+                }
+                if (from >= 0) scorerRows.remove(from);
+                if (to >= 0) scorerRows.add(to, player);
+            }
+
+            @Override
+            public void reordered() {
+                if (!Platform.isFxApplicationThread()) {
+                    scorersStale = true;
+                    return;
+                }
+                scorerRows.setAll(league.getTopScorers().asList());
+            }
+        });
+        playersTable.setItems(scorerRows);
 
         setupPlayersTableColumns();
         playersTab.setContent(playersTable);
@@ -158,11 +292,37 @@ public class SimpleSoccerApp extends Application {
         Tab eventsTab = new Tab("📋 Match Events");
         eventsTab.setClosable(false);
 
-        eventsListView = new ListView<>();
+        // Rows are formatted only for the cells on screen
+        matchEvents = new MatchEventsModel();
+        eventsListView = new ListView<>(matchEvents);
+        eventsListView.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(MatchEventsModel.Line line, boolean empty) {
+                super.updateItem(line, empty);
+                setText(empty || line == null ? null : MatchEventsModel.format(line));
+            }
+        });
+        eventsListView.setPlaceholder(new Label("No matches played yet. Click 'Play Next Match' to start!"));
         eventsListView.setStyle(getListViewStyle());
         eventsTab.setContent(eventsListView);
 
-        tabPane.getTabs().addAll(leagueTab, playersTab, eventsTab);
+        // Live Tab: one row per match of the live matchday, redrawn on the pulse after an event
+        liveTab = new Tab("🔴 Live");
+        liveTab.setClosable(false);
+
+        liveListView = new ListView<>();
+        liveListView.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(LiveMatches.Match match, boolean empty) {
+                super.updateItem(match, empty);
+                setText(empty || match == null ? null : formatLive(match));
+            }
+        });
+        liveListView.setPlaceholder(new Label("No matchday live. Click 'Play Matchday Live' to start one!"));
+        liveListView.setStyle(getListViewStyle());
+        liveTab.setContent(liveListView);
+
+        tabPane.getTabs().addAll(leagueTab, playersTab, eventsTab, liveTab);
 
         // Apply additional styling programmatically as fallback
         tabPane.getTabs().forEach(tab -> {
@@ -293,8 +453,7 @@ public class SimpleSoccerApp extends Application {
         lossesCol.setStyle("-fx-alignment: CENTER;");
 
         TableColumn<Team, Integer> goalDiffCol = new TableColumn<>("Goal Diff");
-        goalDiffCol.setCellValueFactory(cellData ->
-                new javafx.beans.property.SimpleIntegerProperty(cellData.getValue().getGoalDifference()).asObject());
+        goalDiffCol.setCellValueFactory(new PropertyValueFactory<>("goalDifference"));
         goalDiffCol.setPrefWidth(80);
         goalDiffCol.setStyle("-fx-alignment: CENTER; -fx-font-weight: bold;");
 
@@ -309,13 +468,8 @@ public class SimpleSoccerApp extends Application {
 
         TableColumn<Player, String> playerTeamCol = new TableColumn<>("Team");
         playerTeamCol.setCellValueFactory(cellData -> {
-            Player player = cellData.getValue();
-            for (Team team : league.getTeams()) {
-                if (team.getPlayers().contains(player)) {
-                    return new javafx.beans.property.SimpleStringProperty(team.getName());
-                }
-            }
-            return new javafx.beans.property.SimpleStringProperty("Unknown");
+            Team team = cellData.getValue().getTeam();
+            return new javafx.beans.property.SimpleStringProperty(team != null ? team.getName() : "Unknown");
         });
         playerTeamCol.setPrefWidth(120);
 
@@ -343,13 +497,12 @@ public class SimpleSoccerApp extends Application {
 
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                league.getTeams().clear();
-                league.getGames().clear();
-                league.getAllEvents().clear();
+                stopJournal();
+                league.clear();
+                refreshStandings();
                 resultsListView.getItems().clear();
-                eventsListView.getItems().clear();
+                matchEvents.clear();
                 allMatchesPlayed = false; // Reset the flag
-                updatePlayerTable();
                 showAlert("Teams Cleared", "All teams have been removed from the league.");
             }
         });
@@ -363,18 +516,20 @@ public class SimpleSoccerApp extends Application {
 
             confirm.showAndWait().ifPresent(response -> {
                 if (response == ButtonType.OK) {
+                    stopJournal();
                     league.removeTeam(selectedTeam);
+                    refreshStandings();
                     teamSelector.setValue(null);
 
                     if (league.getTeams().size() >= 2) {
                         league.generateMatches();
                     } else {
-                        league.getGames().clear();
+                        league.clearFixtures();
                     }
 
                     resultsListView.getItems().clear();
+                    matchEvents.clear();
                     allMatchesPlayed = false; // Reset the flag when team structure changes
-                    updatePlayerTable();
                     showAlert("Team Removed", selectedTeam.getName() + " has been removed from the league.");
                 }
             });
@@ -391,7 +546,9 @@ public class SimpleSoccerApp extends Application {
             newTeam.addPlayer(new Player("Player 2", "Midfielder"));
             newTeam.addPlayer(new Player("Player 3", "Defender"));
 
+            stopJournal();
             league.addTeam(newTeam);
+            refreshStandings();
             teamNameField.clear();
 
             if (league.getTeams().size() >= 2) {
@@ -399,7 +556,6 @@ public class SimpleSoccerApp extends Application {
             }
 
             allMatchesPlayed = false; // Reset the flag when new team is added
-            updatePlayerTable();
             showAlert("Team Added", teamName + " has been added to the league!");
         } else {
             showAlert("Error", "Please enter a team name.");
@@ -407,27 +563,78 @@ public class SimpleSoccerApp extends Application {
     }
 
     private void loadSampleData() {
+        stopJournal();
         String[] teamNames = {"Arsenal", "Chelsea", "Liverpool", "Man City", "Man United", "Tottenham"};
 
+        List<Team> teams = new ArrayList<>();
         for (String name : teamNames) {
             Team team = new Team(name);
             team.addPlayer(new Player("Player 1", "Forward"));
             team.addPlayer(new Player("Player 2", "Midfielder"));
             team.addPlayer(new Player("Player 3", "Defender"));
-            league.addTeam(team);
+            teams.add(team);
         }
 
+        league.addTeams(teams);
         league.generateMatches();
+        refreshStandings();
         allMatchesPlayed = false; // Reset the flag when loading new data
-        updatePlayerTable();
+    }
+
+    // Bulk-load teams and players from a CSV or JSON roster, then schedule once
+    private void importRoster(Stage stage) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Roster");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Rosters", "*.csv", "*.json"),
+                new FileChooser.ExtensionFilter("All files", "*.*"));
+        File file = chooser.showOpenDialog(stage);
+        if (file == null) return;
+
+        // A big file takes a while to parse, so it is read on the simulation thread with the
+        // league controls off; the table and scorers catch up once it is in
+        stopJournal();
+        Path path = file.toPath();
+        setSimulating(true);
+        progressBar.setProgress(ProgressBar.INDETERMINATE_PROGRESS);
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return RosterImporter.importFile(path, league);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            } finally {
+                // Rows read before a failure are in the league either way
+                if (league.getTeams().size() >= 2) {
+                    league.generateMatches();
+                }
+            }
+        }, simulationExecutor).whenComplete((result, e) -> Platform.runLater(() -> {
+            setSimulating(false);
+            showMovedRows();
+            refreshStandings();
+            resultsListView.getItems().clear();
+            matchEvents.clear();
+            allMatchesPlayed = false; // Reset the flag when team structure changes
+
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                showAlert("Import Failed", cause.getMessage());
+            } else {
+                showAlert("Roster Imported", String.format("%,d teams and %,d players added from %s (%,.0f rows/s).",
+                        result.getTeams(), result.getPlayers(), file.getName(), result.getRowsPerSecond()));
+            }
+        }));
     }
 
     private void playNextMatch() {
         Game game = league.simulateNextMatch();
         if (game != null) {
-            resultsListView.getItems().add(game.getResult());
-            updatePlayerTable();
-            updateEventsDisplay();
+            timedRefresh("next match", () -> {
+                refreshStandings();
+                resultsListView.getItems().add(game.getResult());
+                matchEvents.append(game);
+                return 1;
+            });
             if (league.isSeasonComplete()) {
                 allMatchesPlayed = true; // Set flag when season is complete
                 showAlert("Season Complete!", "Champion: " + league.getTeams().get(0).getName());
@@ -449,14 +656,169 @@ public class SimpleSoccerApp extends Application {
             return;
         }
 
-        // Play all matches
-        league.simulateAllMatches();
+        if (simulation != null) return;
+
+        // Play all matches in the background; the lists continue from what is shown now
+        showPlayedResults();
+        simulation = SeasonRun.start(league, simulationExecutor);
+        setSimulating(true);
+        publisher.start();
+    }
+
+    private void playMatchdayLive() {
+        if (simulation != null || liveMatchday != null) return;
+        if (league.getNextMatch() == null) {
+            showAlert("No Matches", "All matches have been played!");
+            return;
+        }
+        if (liveMatches == null) liveMatches = new LiveMatches(LIVE_MINUTE_NANOS);
+
+        // The live thread only flags a change; the pulse redraws the rows on screen
+        showPlayedResults();
+        liveMatchday = liveMatches.start(league, new LiveMatches.Listener() {
+            @Override
+            public void event(LiveMatches.Match match, long packedEvent) {
+                liveChanged = true;
+            }
+
+            @Override
+            public void fullTime(LiveMatches.Match match) {
+                liveChanged = true;
+            }
+        });
+        liveListView.getItems().setAll(liveMatchday.getMatches());
+        liveTab.getTabPane().getSelectionModel().select(liveTab);
+        setSimulating(true);
+        publisher.start();
+    }
+
+    // The results and events lists rebuilt from the league, for a run to continue from
+    private void showPlayedResults() {
         resultsListView.getItems().clear();
         for (Game game : league.getGames()) {
-            resultsListView.getItems().add(game.getResult());
+            if (game.isFinished()) resultsListView.getItems().add(game.getResult());
+        }
+        matchEvents.reset(league.getGames());
+        shownResults = league.getCompletedCount();
+    }
+
+    // Once per pulse during a run: bring the table, scorers, lists and progress bar up to date
+    private void publishProgress() {
+        SeasonRun run = simulation;
+        boolean finished = run.isDone(); // checked first, so the read below sees the final state
+        run.read(this::showNewResults);
+        progressBar.setProgress(run.getTotal() == 0 ? 1 : (double) run.getPlayed() / run.getTotal());
+        if (!finished) return;
+
+        publisher.stop();
+        simulation = null;
+        setSimulating(false);
+        // Dialogs can't open from inside an animation pulse
+        Platform.runLater(() -> reportRun(run));
+    }
+
+    // Once per pulse during a live matchday: redraw the scores if anything happened, and bring
+    // in the results the league has taken
+    private void publishLive() {
+        LiveMatches.Matchday matchday = liveMatchday;
+        boolean finished = matchday.isDone();
+        if (liveChanged) {
+            liveChanged = false;
+            liveListView.refresh();
+        }
+        matchday.read(this::showNewResults);
+        int minute = matchday.getMinute();
+        liveClock.setText(finished ? "FT" : minute + "'");
+        progressBar.setProgress(Math.min(1, (double) minute / league.getMatchFormat().getMinutes()));
+        if (!finished) return;
+
+        publisher.stop();
+        liveMatchday = null;
+        setSimulating(false);
+        Platform.runLater(() -> reportLive(matchday));
+    }
+
+    // Results the league has taken since the last pulse; called with the league held still
+    private void showNewResults() {
+        int completed = league.getCompletedCount();
+        if (completed == shownResults) {
+            // A run's closing re-rank can land after its last result
+            showMovedRows();
+            return;
+        }
+        timedRefresh("pulse", () -> {
+            List<Game> played = league.getGames().subList(shownResults, completed);
+            List<String> results = new ArrayList<>(played.size());
+            for (Game game : played) {
+                results.add(game.getResult());
+            }
+            resultsListView.getItems().addAll(results);
+            matchEvents.appendAll(played);
+            shownResults = completed;
+            showMovedRows();
+            refreshStandings();
+            return played.size();
+        });
+    }
+
+    // Copies over the rows a run moved on its own thread; a pulse where nothing moved leaves them be
+    private void showMovedRows() {
+        if (tableStale) {
+            tableStale = false;
+            tableRows.setAll(league.getTeams());
+        }
+        if (scorersStale) {
+            scorersStale = false;
+            scorerRows.setAll(league.getTopScorers().asList());
+        }
+    }
+
+    // "Home 2 - 1 Away", then the final whistle or the latest event
+    private static String formatLive(LiveMatches.Match match) {
+        String score = String.format("%s %d - %d %s", match.getHomeTeam().getName(), match.getHomeScore(),
+                match.getAwayScore(), match.getAwayTeam().getName());
+        if (match.isOver()) return score + "   FT";
+        int seen = match.getRevealedCount();
+        return seen == 0 ? score : score + "   " + match.getEvent(seen - 1);
+    }
+
+    // Stops the clock; the matchday's unfinished games stay pending
+    private void stopLive() {
+        liveMatches.close();
+        liveMatches = null;
+    }
+
+    private void reportLive(LiveMatches.Matchday matchday) {
+        liveListView.refresh();
+        try {
+            matchday.whenDone().join();
+        } catch (CancellationException e) {
+            long finished = matchday.getMatches().stream().filter(match -> match.getGame().isFinished()).count();
+            showAlert("Matchday Stopped", String.format("%,d of %,d matches finished; the rest are still to play.",
+                    finished, matchday.getMatches().size()));
+            return;
+        } catch (CompletionException e) {
+            showAlert("Live Matchday Failed", String.valueOf(e.getCause()));
+            return;
+        }
+        if (league.isSeasonComplete()) {
+            allMatchesPlayed = true;
+            showAlert("Season Complete!", "Champion: " + league.getTeams().get(0).getName());
+        }
+    }
+
+    private void reportRun(SeasonRun run) {
+        try {
+            run.whenDone().join();
+        } catch (CompletionException e) {
+            showAlert("Simulation Failed", String.valueOf(e.getCause()));
+            return;
+        }
+        if (!league.isSeasonComplete()) {
+            showAlert("Simulation Cancelled", String.format("Stopped after %,d of %,d matches.",
+                    run.getPlayed(), run.getTotal()));
+            return;
         }
-        updatePlayerTable();
-        updateEventsDisplay();
         allMatchesPlayed = true; // Set the flag after playing all matches
 
         String champion = "";
@@ -466,30 +828,43 @@ public class SimpleSoccerApp extends Application {
         showAlert("Season Complete!", "Champion: " + champion);
     }
 
-    private void resetSeason() {
-        // First call the league's reset method
-        league.resetSeason();
-
-        // Force reset all team statistics to ensure goal difference becomes 0
-        for (Team team : league.getTeams()) {
-            // Reset all team statistics using the correct property methods
-            team.pointsProperty().set(0);
-            team.winsProperty().set(0);
-            team.drawsProperty().set(0);
-            team.lossesProperty().set(0);
-            team.goalsForProperty().set(0);          // This resets goals scored
-            team.goalsAgainstProperty().set(0);      // This resets goals conceded
-            team.gamesPlayedProperty().set(0);
-
+    // Time a refresh of the views for EngineMetrics and Flight Recorder; refresh returns the
+    // number of games it brought in
+    private void timedRefresh(String view, IntSupplier refresh) {
+        long start = EngineMetrics.start();
+        EngineEvents.UiRefreshed event = EngineEvents.recording() ? new EngineEvents.UiRefreshed() : null;
+        if (event != null) event.begin();
+        int games = refresh.getAsInt();
+        EngineMetrics.uiRefreshed(start);
+        if (event != null && event.shouldCommit()) {
+            event.view = view;
+            event.games = games;
+            event.commit();
+        }
+    }
 
+    private void setSimulating(boolean simulating) {
+        for (Node node : leagueControls) {
+            node.setDisable(simulating);
         }
+        progressBar.setProgress(0);
+        liveClock.setText("");
+        progressRow.setVisible(simulating);
+        progressRow.setManaged(simulating);
+    }
+
+    private void resetSeason() {
+        // Reset all team and player statistics; the league moves to a fresh seed, so the
+        // next season plays out differently from the last
+        stopJournal();
+        league.resetSeason();
 
         // Regenerate matches and clear displays
         league.generateMatches();
+        refreshStandings();
         resultsListView.getItems().clear();
-        eventsListView.getItems().clear();
+        matchEvents.clear();
         allMatchesPlayed = false; // Reset the flag when season is reset
-        updatePlayerTable();
 
         // Force refresh all UI components to show updated values
         leagueTable.refresh();
@@ -499,56 +874,102 @@ public class SimpleSoccerApp extends Application {
         leagueTable.sort();
     }
 
-    private void updateEventsDisplay() {
-        eventsListView.getItems().clear();
+    private void saveSeason(Stage stage) {
+        File file = createSnapshotChooser().showSaveDialog(stage);
+        if (file == null) return;
+        try {
+            stopJournal();
+            LeagueSnapshot.save(league, file.toPath());
+            startJournal(file.toPath(), true);
+            showAlert("Season Saved", "The league has been saved to " + file.getName() + ".");
+        } catch (IOException e) {
+            showAlert("Save Failed", e.getMessage());
+        }
+    }
 
+    private void loadSeason(Stage stage) {
+        File file = createSnapshotChooser().showOpenDialog(stage);
+        if (file == null) return;
+        int replayed;
+        try {
+            stopJournal();
+            LeagueSnapshot.load(file.toPath(), league);
+            // Games played after the snapshot was taken come back from its journal
+            replayed = MatchJournal.replay(MatchJournal.beside(file.toPath()), league);
+            startJournal(file.toPath(), false);
+        } catch (IOException e) {
+            showAlert("Load Failed", e.getMessage());
+            return;
+        }
+        refreshStandings();
+        resultsListView.getItems().clear();
         for (Game game : league.getGames()) {
-            if (game.isFinished() && !game.getEvents().isEmpty()) {
-                eventsListView.getItems().add("");
-                eventsListView.getItems().add("MATCH: " + game.getResult());
-                eventsListView.getItems().add("═══════════════════════════════");
-
-                for (GameEvent event : game.getEvents()) {
-                    String eventText = "";
-                    if (event instanceof Goal) {
-                        eventText = String.format("  %d' ⚽ GOAL! %s (%s)",
-                                event.getMinute(),
-                                event.getPlayer().getName(),
-                                event.getTeam().getName());
-                    } else if (event instanceof YellowCard) {
-                        eventText = String.format("  %d' 🟨 Yellow Card: %s (%s)",
-                                event.getMinute(),
-                                event.getPlayer().getName(),
-                                event.getTeam().getName());
-                    } else if (event instanceof Kickoff) {
-                        eventText = String.format("  %d' ⚽ Kickoff: %s",
-                                event.getMinute(),
-                                event.getTeam().getName());
-                    } else if (event instanceof Possession) {
-                        eventText = String.format("  %d' ⚡ Possession: %s (%s)",
-                                event.getMinute(),
-                                event.getPlayer().getName(),
-                                event.getTeam().getName());
-                    }
-                    eventsListView.getItems().add(eventText);
-                }
-                eventsListView.getItems().add("");
-            }
+            if (game.isFinished()) resultsListView.getItems().add(game.getResult());
         }
+        matchEvents.reset(league.getGames());
+        allMatchesPlayed = league.isSeasonComplete() && league.getCompletedCount() > 0;
+        showAlert("Season Loaded", league.getName() + " has been loaded from " + file.getName()
+                + (replayed > 0 ? " (" + replayed + " later matches recovered)." : "."));
+    }
 
-        if (eventsListView.getItems().isEmpty()) {
-            eventsListView.getItems().add("No matches played yet. Click 'Play Next Match' to start!");
-        }
+    // Journal every result from now on next to the snapshot, optionally starting it afresh.
+    // Results reach it through a feed, so the simulating thread (the season run or the live
+    // matches) only waits for the disk once the journal is JOURNAL_BUFFER batches behind
+    private void startJournal(Path snapshot, boolean fresh) throws IOException {
+        journal = MatchJournal.open(MatchJournal.beside(snapshot));
+        if (fresh) journal.reset();
+        journalFeed = new MatchFeed(journalExecutor, MatchFeed.DEFAULT_BATCH_GAMES);
+        journalWritten = journal.follow(journalFeed, JOURNAL_BUFFER);
+        journalWritten.whenComplete((done, e) -> {
+            if (e != null) Platform.runLater(() -> showAlert("Journal Error", e.getMessage()));
+        });
+        league.addResultListener(journalFeed);
     }
 
-    private void updatePlayerTable() {
-        allPlayers.clear();
+    // The fixtures are about to change, so results would no longer continue the saved season.
+    // Waits until the journal has written what it was sent; a failure was already reported
+    private void stopJournal() {
+        if (journal == null) return;
+        league.removeResultListener(journalFeed);
+        journalFeed.close();
+        try {
+            journalWritten.join();
+        } catch (CompletionException | CancellationException e) {
+            // shown by the journal's completion handler
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            showAlert("Journal Error", e.getMessage());
+        }
+        journal = null;
+        journalFeed = null;
+        journalWritten = null;
+    }
 
-        for (Team team : league.getTeams()) {
-            allPlayers.addAll(team.getPlayers());
+    @Override
+    public void stop() {
+        if (simulation != null) {
+            // Let the journal see the last chunk before it closes
+            simulation.cancel();
+            simulation.whenDone().exceptionally(e -> 0).join();
         }
+        if (liveMatches != null) liveMatches.close();
+        simulationExecutor.shutdown();
+        stopJournal();
+        journalExecutor.shutdown();
+    }
+
+    private FileChooser createSnapshotChooser() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("League Snapshot");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("League snapshots", "*.league"));
+        return chooser;
+    }
 
-        allPlayers.sort((p1, p2) -> Integer.compare(p2.getGoalsScored(), p1.getGoalsScored()));
+    // Publish the engine's stats to the bound properties; row order follows the standings listener
+    private void refreshStandings() {
+        league.syncProperties();
     }
 
     private Alert createStyledAlert(Alert.AlertType type, String title, String header, String content) {
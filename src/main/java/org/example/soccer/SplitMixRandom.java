@@ -0,0 +1,32 @@
+package org.example.soccer;
+
+// Counter-based SplitMix64 stream: the state is derived from (season seed, game index)
+// alone, so resetting costs two mixes and no allocation. Not thread-safe; use one per thread.
+public final class SplitMixRandom implements RandomSource {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state;
+
+    public SplitMixRandom() {
+    }
+
+    public SplitMixRandom(long seed) {
+        this.state = seed;
+    }
+
+    @Override
+    public void reset(long seasonSeed, long gameIndex) {
+        state = mix64(seasonSeed ^ mix64((gameIndex + 1) * GOLDEN_GAMMA));
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(state += GOLDEN_GAMMA);
+    }
+
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,721 @@
+package org.example.soccer;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+// Incremental league table: an order-statistics treap over team ids, ranked by points and
+// then the league's TableRules (full ties by id, i.e. registration order).
+// After a match only the two teams involved are re-positioned, each in O(log n), and
+// listeners hear about exactly those moves instead of a full re-sort of the table.
+// Node arrays are indexed by team id, so updates allocate nothing.
+// Each team is ranked by a sort key: points and the first two tiebreakers (as long as they
+// are per-team totals) packed into one long, so comparing two teams is one compare and a full
+// re-rank is a primitive sort. Teams level on the key form a tie group; when the rules go
+// beyond the key (head-to-head, or a third criterion) the group is ordered by the rest of them,
+// and each member's place in it is kept as a tie rank next to the key. Only groups of two or
+// more are ever resolved, and an update resolves just the groups the team left and joined.
+public final class Standings {
+    private static final int NIL = -1;
+    // Sort key fields, 21 bits each; values are offset by FIELD_BIAS and clamped to the field
+    private static final int FIELD_BITS = 21;
+    private static final long FIELD_MAX = (1L << FIELD_BITS) - 1;
+    private static final long FIELD_BIAS = 1L << (FIELD_BITS - 1);
+    private static final int KEY_TIEBREAKERS = 2; // fields after points
+
+    public interface Listener {
+        // A team moved between 0-based ranks; from is -1 when it was added, to is -1 when removed
+        void moved(Team team, int from, int to);
+
+        // The whole order changed (bulk rebuild, reset or clear)
+        default void reordered() {
+        }
+    }
+
+    private Team[] teams = new Team[16];
+    private int[] left = new int[16];
+    private int[] right = new int[16];
+    private int[] size = new int[16];
+    private int[] priority = new int[16];
+    // The key and tie rank each team was inserted with, so it can be found again after its
+    // stats changed
+    private long[] key = new long[16];
+    private int[] tieRank = new int[16];
+    private boolean[] present = new boolean[16];
+
+    private TableRules rules = TableRules.STANDARD;
+    private int keyed = KEY_TIEBREAKERS; // tiebreakers packed into the key
+    private boolean grouped; // rules go beyond the key, so tie groups need resolving
+
+    // Played games by home team, for head-to-head; caught up from results when needed
+    private final Supplier<List<Game>> results;
+    private Game[][] homeGames = new Game[16][];
+    private int[] homeGameCount = new int[16];
+    private int recorded;
+    private Game lastRecorded;
+
+    // Scratch for ranking, grown as needed
+    private int[] group = new int[16];
+    private long[] tieValue = new long[16]; // by team id
+    private int[] mark = new int[16]; // by team id: current group stamp
+    private int stamp;
+    private int[] headToHead = new int[48]; // by team id: points, goals for, goals against
+    private long[] sortValues = new long[16];
+    private long[] sortKeys = new long[16];
+
+    private int root = NIL;
+    private int count;
+    private int splitLeft;
+    private int splitRight;
+    private int priorities = 0x2545F491;
+    private final List<Listener> listeners = new ArrayList<>();
+    private final List<Team> view = new RankedView();
+
+    // A table on its own: head-to-head sees no games
+    public Standings() {
+        this(Collections::emptyList);
+    }
+
+    // results gives the games played so far, in play order (see League)
+    public Standings(Supplier<List<Game>> results) {
+        this.results = Objects.requireNonNull(results);
+    }
+
+    public TableRules getRules() { return rules; }
+
+    // Re-rank everyone by new rules; listeners hear a single reorder
+    public void setRules(TableRules rules) {
+        if (rules.equals(this.rules)) return;
+        this.rules = rules;
+        keyed = 0;
+        while (keyed < Math.min(KEY_TIEBREAKERS, rules.size()) && rules.get(keyed) != TableRules.Tiebreaker.HEAD_TO_HEAD) {
+            keyed++;
+        }
+        grouped = rules.size() > keyed;
+        rebuild();
+    }
+
+    public void addListener(Listener listener) { listeners.add(listener); }
+    public void removeListener(Listener listener) { listeners.remove(listener); }
+
+    public int size() { return count; }
+    public boolean contains(Team team) {
+        int id = team.getId();
+        return id < present.length && present[id] && teams[id] == team;
+    }
+
+    // Teams in rank order; read-only and always current
+    public List<Team> asList() { return view; }
+
+    public void add(Team team) {
+        int id = team.getId();
+        ensureCapacity(id + 1);
+        if (present[id]) return;
+        teams[id] = team;
+        key[id] = keyOf(team);
+        tieRank[id] = grouped ? Integer.MAX_VALUE : 0; // last of its group until the group is resolved
+        insert(id);
+        int rank = rankOf(id);
+        for (Listener listener : listeners) listener.moved(team, -1, rank);
+        if (grouped) regroup(key[id]);
+    }
+
+    // Bulk add (e.g. a restored league); listeners hear a single reorder
+    public void addAll(Collection<Team> added) {
+        for (Team team : added) {
+            int id = team.getId();
+            ensureCapacity(id + 1);
+            if (present[id]) continue;
+            teams[id] = team;
+            present[id] = true;
+            count++;
+        }
+        rank();
+        for (Listener listener : listeners) listener.reordered();
+    }
+
+    public void remove(Team team) {
+        if (!contains(team)) return;
+        int id = team.getId();
+        int rank = rankOf(id);
+        delete(id);
+        teams[id] = null;
+        for (Listener listener : listeners) listener.moved(team, rank, -1);
+        if (grouped) regroup(key[id]);
+    }
+
+    // Re-position one team after its stats changed, and re-order the tie groups it left and joined
+    public void update(Team team) {
+        if (!contains(team)) return;
+        int id = team.getId();
+        long before = key[id];
+        move(id, keyOf(team), grouped ? Integer.MAX_VALUE : 0);
+        if (!grouped) return;
+        if (before != key[id]) regroup(before);
+        regroup(key[id]);
+    }
+
+    // Re-rank every team from scratch, e.g. after a whole season was simulated
+    public void rebuild() {
+        rank();
+        for (Listener listener : listeners) listener.reordered();
+    }
+
+    public void clear() {
+        Arrays.fill(present, false);
+        Arrays.fill(teams, null);
+        root = NIL;
+        count = 0;
+        forgetGames();
+        for (Listener listener : listeners) listener.reordered();
+    }
+
+    // 0-based rank, or -1 if the team is not in the table
+    public int rankOf(Team team) {
+        return contains(team) ? rankOf(team.getId()) : -1;
+    }
+
+    // Team at a 0-based rank
+    public Team get(int rank) {
+        Objects.checkIndex(rank, count);
+        int node = root;
+        while (true) {
+            int leftSize = sizeOf(left[node]);
+            if (rank < leftSize) {
+                node = left[node];
+            } else if (rank == leftSize) {
+                return teams[node];
+            } else {
+                rank -= leftSize + 1;
+                node = right[node];
+            }
+        }
+    }
+
+    public List<Team> top(int k) {
+        return range(0, Math.min(k, count));
+    }
+
+    // Teams ranked in [fromRank, toRank), in order
+    public List<Team> range(int fromRank, int toRank) {
+        Objects.checkFromToIndex(fromRank, toRank, count);
+        List<Team> result = new ArrayList<>(toRank - fromRank);
+        collect(root, fromRank, toRank, 0, result);
+        return result;
+    }
+
+    private void collect(int node, int from, int to, int offset, List<Team> out) {
+        if (node == NIL || offset >= to || offset + size[node] <= from) return;
+        int leftSize = sizeOf(left[node]);
+        collect(left[node], from, to, offset, out);
+        int rank = offset + leftSize;
+        if (rank >= from && rank < to) out.add(teams[node]);
+        collect(right[node], from, to, rank + 1, out);
+    }
+
+    // Ranking
+
+    // Points, then the keyed tiebreakers, each in its own field: higher keys rank higher
+    private long keyOf(Team team) {
+        long packed = field(team.getPoints());
+        for (int i = 0; i < keyed; i++) {
+            packed = packed << FIELD_BITS | field(valueOf(rules.get(i), team));
+        }
+        return packed;
+    }
+
+    private static long field(long value) {
+        return Math.max(0, Math.min(FIELD_MAX, value + FIELD_BIAS));
+    }
+
+    // A per-team criterion, higher is better
+    private static long valueOf(TableRules.Tiebreaker tiebreaker, Team team) {
+        switch (tiebreaker) {
+            case GOAL_DIFFERENCE: return team.getGoalDifference();
+            case GOALS_FOR: return team.getGoalsFor();
+            case AWAY_GOALS: return team.getAwayGoalsFor();
+            case FAIR_PLAY: return -team.getYellowCards();
+            default: throw new IllegalArgumentException("Not a per-team criterion: " + tiebreaker);
+        }
+    }
+
+    // Whole table: a primitive sort by key, tie groups resolved, and the treap built from the
+    // order in linear time
+    private void rank() {
+        int[] ids = ensureGroup(count);
+        int n = 0;
+        for (int id = 0; id < present.length; id++) {
+            if (!present[id]) continue;
+            key[id] = keyOf(teams[id]);
+            ids[n++] = id;
+        }
+        order(ids, 0, n, key);
+        int start = 0;
+        for (int i = 1; i <= n; i++) {
+            if (i < n && key[ids[i]] == key[ids[start]]) continue;
+            if (grouped && i - start > 1) resolve(ids, start, i, 0);
+            for (int j = start; j < i; j++) {
+                tieRank[ids[j]] = grouped ? j - start : 0; // ungrouped ties fall back to id
+            }
+            start = i;
+        }
+        root = build(ids, 0, n);
+        count = n;
+    }
+
+    // Re-order the teams on this key among themselves. Usually one team has moved in the
+    // group (it just joined, or its stats changed under the same key) and the rest keep their
+    // order: that team is taken out, the others are relabelled where they stand and it goes
+    // back in, so a big group costs one re-insert. Otherwise the group's subtree is rebuilt
+    private void regroup(long groupKey) {
+        int from = teamsAbove(groupKey);
+        int to = groupKey == 0 ? count : teamsAbove(groupKey - 1);
+        int n = to - from;
+        if (n == 0) return;
+        int[] ids = ensureGroup(2 * n);
+        collectIds(root, from, to, 0, ids, from - n); // current order in ids[n, 2n)
+        System.arraycopy(ids, n, ids, 0, n);
+        if (n > 1) {
+            Arrays.sort(ids, 0, n);
+            resolve(ids, 0, n, 0);
+        }
+        int mismatch = 0;
+        while (mismatch < n && ids[mismatch] == ids[n + mismatch]) {
+            mismatch++;
+        }
+        int displaced = NIL;
+        if (mismatch < n) {
+            if (sameOrderWithout(ids, n, ids[n + mismatch])) {
+                displaced = ids[n + mismatch];
+            } else if (sameOrderWithout(ids, n, ids[mismatch])) {
+                displaced = ids[mismatch];
+            } else {
+                reorder(ids, n, from);
+                return;
+            }
+        }
+        int before = displaced == NIL ? -1 : rankOf(displaced);
+        if (displaced != NIL) delete(displaced);
+        for (int i = 0; i < n; i++) {
+            tieRank[ids[i]] = i;
+        }
+        if (displaced == NIL) return;
+        insert(displaced);
+        int after = rankOf(displaced);
+        if (before != after) {
+            for (Listener listener : listeners) listener.moved(teams[displaced], before, after);
+        }
+    }
+
+    // Swap the group's subtree, ranks [from, from + n), for one built in the new order ids[0, n),
+    // then tell listeners, walking the current order ids[n, 2n) into the new one a move at a time
+    private void reorder(int[] ids, int n, int from) {
+        splitAt(root, from);
+        int above = splitLeft;
+        splitAt(splitRight, n);
+        int below = splitRight;
+        for (int i = 0; i < n; i++) {
+            tieRank[ids[i]] = i;
+        }
+        root = merge(merge(above, build(ids, 0, n)), below);
+        for (int i = 0; i < n; i++) {
+            if (ids[n + i] == ids[i]) continue;
+            int at = i + 1;
+            while (ids[n + at] != ids[i]) {
+                at++;
+            }
+            System.arraycopy(ids, n + i, ids, n + i + 1, at - i);
+            ids[n + i] = ids[i];
+            for (Listener listener : listeners) listener.moved(teams[ids[i]], from + at, from + i);
+        }
+    }
+
+    // Split into the first rank nodes (splitLeft) and the rest (splitRight)
+    private void splitAt(int node, int rank) {
+        if (node == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+        } else if (sizeOf(left[node]) < rank) {
+            splitAt(right[node], rank - sizeOf(left[node]) - 1);
+            right[node] = splitLeft;
+            resize(node);
+            splitLeft = node;
+        } else {
+            splitAt(left[node], rank);
+            left[node] = splitRight;
+            resize(node);
+            splitRight = node;
+        }
+    }
+
+    // Do the new order ids[0, n) and the current one ids[n, 2n) agree once this team is left out?
+    private static boolean sameOrderWithout(int[] ids, int n, int skip) {
+        int j = n;
+        for (int i = 0; i < n; i++) {
+            if (ids[i] == skip) continue;
+            if (ids[j] == skip) j++;
+            if (ids[i] != ids[j++]) return false;
+        }
+        return true;
+    }
+
+    // Order ids[from, to) by rules.get(rule) onwards; the ids come in registration order
+    private void resolve(int[] ids, int from, int to, int rule) {
+        if (to - from < 2 || rule == rules.size()) return;
+        int next = rule + 1;
+        if (rules.get(rule) == TableRules.Tiebreaker.HEAD_TO_HEAD) {
+            miniTable(ids, from, to);
+        } else {
+            // Up to three per-team criteria in a row share one sort, packed like the key
+            while (next < rules.size() && next - rule < 3 && rules.get(next) != TableRules.Tiebreaker.HEAD_TO_HEAD) {
+                next++;
+            }
+            for (int i = from; i < to; i++) {
+                long packed = 0;
+                for (int r = rule; r < next; r++) {
+                    packed = packed << FIELD_BITS | field(valueOf(rules.get(r), teams[ids[i]]));
+                }
+                tieValue[ids[i]] = packed;
+            }
+        }
+        order(ids, from, to, tieValue);
+        // Runs still level go on to the next criterion; a run's values are only overwritten
+        // once the scan has passed it
+        int start = from;
+        for (int i = from + 1; i <= to; i++) {
+            if (i < to && tieValue[ids[i]] == tieValue[ids[start]]) continue;
+            resolve(ids, start, i, next);
+            start = i;
+        }
+    }
+
+    // Head-to-head among exactly these teams: points, goal difference and goals for from the
+    // games between them, packed into tieValue like a sort key
+    private void miniTable(int[] ids, int from, int to) {
+        catchUpGames();
+        if (++stamp == 0) {
+            Arrays.fill(mark, 0);
+            stamp = 1;
+        }
+        for (int i = from; i < to; i++) {
+            int id = ids[i];
+            mark[id] = stamp;
+            headToHead[3 * id] = 0;
+            headToHead[3 * id + 1] = 0;
+            headToHead[3 * id + 2] = 0;
+        }
+        for (int i = from; i < to; i++) {
+            int home = ids[i];
+            Game[] games = homeGames[home];
+            for (int g = homeGameCount[home] - 1; g >= 0; g--) {
+                Game game = games[g];
+                int away = game.getAwayTeam().getId();
+                if (away >= mark.length || mark[away] != stamp || teams[away] != game.getAwayTeam()) continue;
+                int homeGoals = game.getHomeScore();
+                int awayGoals = game.getAwayScore();
+                headToHead[3 * home] += homeGoals > awayGoals ? 3 : homeGoals == awayGoals ? 1 : 0;
+                headToHead[3 * away] += awayGoals > homeGoals ? 3 : homeGoals == awayGoals ? 1 : 0;
+                headToHead[3 * home + 1] += homeGoals;
+                headToHead[3 * home + 2] += awayGoals;
+                headToHead[3 * away + 1] += awayGoals;
+                headToHead[3 * away + 2] += homeGoals;
+            }
+        }
+        for (int i = from; i < to; i++) {
+            int id = ids[i];
+            int goalsFor = headToHead[3 * id + 1];
+            tieValue[id] = (field(headToHead[3 * id]) << FIELD_BITS | field(goalsFor - headToHead[3 * id + 2]))
+                    << FIELD_BITS | field(goalsFor);
+        }
+    }
+
+    // Order ids[from, to) by value, highest first and equal values by id, with two primitive
+    // sorts: the distinct values, then each id packed under its value's rank. The ids come in
+    // id order, so when every value is the same there is nothing to do
+    private void order(int[] ids, int from, int to, long[] value) {
+        int n = to - from;
+        if (n < 2) return;
+        long first = value[ids[from]];
+        int same = from + 1;
+        while (same < to && value[ids[same]] == first) {
+            same++;
+        }
+        if (same == to) return;
+        if (sortValues.length < n) {
+            sortValues = new long[Math.max(n, sortValues.length * 2)];
+            sortKeys = new long[sortValues.length];
+        }
+        for (int i = 0; i < n; i++) {
+            sortValues[i] = value[ids[from + i]];
+        }
+        Arrays.sort(sortValues, 0, n);
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (i == 0 || sortValues[i] != sortValues[distinct - 1]) sortValues[distinct++] = sortValues[i];
+        }
+        for (int i = 0; i < n; i++) {
+            int id = ids[from + i];
+            long rank = distinct - 1 - Arrays.binarySearch(sortValues, 0, distinct, value[id]);
+            sortKeys[i] = rank << 32 | id;
+        }
+        Arrays.sort(sortKeys, 0, n);
+        for (int i = 0; i < n; i++) {
+            ids[from + i] = (int) sortKeys[i];
+        }
+    }
+
+    // Bring the played games by home team up to date; starts over if the season was reset
+    private void catchUpGames() {
+        List<Game> played = results.get();
+        int n = played.size();
+        if (n < recorded || (recorded > 0 && played.get(recorded - 1) != lastRecorded)) forgetGames();
+        for (int i = recorded; i < n; i++) {
+            Game game = played.get(i);
+            int home = game.getHomeTeam().getId();
+            ensureCapacity(home + 1);
+            Game[] games = homeGames[home];
+            if (games == null) {
+                games = homeGames[home] = new Game[8];
+            } else if (homeGameCount[home] == games.length) {
+                games = homeGames[home] = Arrays.copyOf(games, games.length * 2);
+            }
+            games[homeGameCount[home]++] = game;
+        }
+        recorded = n;
+        lastRecorded = n > 0 ? played.get(n - 1) : null;
+    }
+
+    private void forgetGames() {
+        Arrays.fill(homeGames, null);
+        Arrays.fill(homeGameCount, 0);
+        recorded = 0;
+        lastRecorded = null;
+    }
+
+    // Re-position a team under a new key and tie rank, telling listeners if its rank changed
+    private void move(int id, long newKey, int newTieRank) {
+        int from = rankOf(id);
+        delete(id);
+        key[id] = newKey;
+        tieRank[id] = newTieRank;
+        insert(id);
+        int to = rankOf(id);
+        if (from != to) {
+            for (Listener listener : listeners) listener.moved(teams[id], from, to);
+        }
+    }
+
+    // Number of teams whose key is above this one
+    private int teamsAbove(long groupKey) {
+        int rank = 0;
+        int node = root;
+        while (node != NIL) {
+            if (key[node] > groupKey) {
+                rank += sizeOf(left[node]) + 1;
+                node = right[node];
+            } else {
+                node = left[node];
+            }
+        }
+        return rank;
+    }
+
+    private void collectIds(int node, int from, int to, int offset, int[] out, int base) {
+        if (node == NIL || offset >= to || offset + size[node] <= from) return;
+        int leftSize = sizeOf(left[node]);
+        collectIds(left[node], from, to, offset, out, base);
+        int rank = offset + leftSize;
+        if (rank >= from && rank < to) out[rank - base] = node;
+        collectIds(right[node], from, to, rank + 1, out, base);
+    }
+
+    private int[] ensureGroup(int n) {
+        if (group.length < n) group = new int[Math.max(n, group.length * 2)];
+        return group;
+    }
+
+    // Treap internals
+
+    // Treap over ids[from, from + n), already in rank order: a Cartesian tree on fresh
+    // priorities, built with a stack of the right spine. Returns its root
+    private int build(int[] ids, int from, int n) {
+        int[] spine = new int[n];
+        int top = 0;
+        for (int i = 0; i < n; i++) {
+            int id = ids[from + i];
+            priority[id] = nextPriority();
+            right[id] = NIL;
+            int last = NIL;
+            while (top > 0 && priority[spine[top - 1]] < priority[id]) {
+                last = spine[--top];
+            }
+            left[id] = last;
+            if (top > 0) right[spine[top - 1]] = id;
+            spine[top++] = id;
+        }
+        if (n == 0) return NIL;
+        resizeAll(spine[0]);
+        return spine[0];
+    }
+
+    private int resizeAll(int node) {
+        if (node == NIL) return 0;
+        size[node] = 1 + resizeAll(left[node]) + resizeAll(right[node]);
+        return size[node];
+    }
+
+    private int rankOf(int id) {
+        int rank = 0;
+        int node = root;
+        while (node != id) {
+            if (before(id, node)) {
+                node = left[node];
+            } else {
+                rank += sizeOf(left[node]) + 1;
+                node = right[node];
+            }
+        }
+        return rank + sizeOf(left[node]);
+    }
+
+    // The team's key and tie rank are set already
+    private void insert(int id) {
+        left[id] = NIL;
+        right[id] = NIL;
+        size[id] = 1;
+        priority[id] = nextPriority();
+        present[id] = true;
+        root = insert(root, id);
+        count++;
+    }
+
+    private int insert(int node, int id) {
+        if (node == NIL) return id;
+        if (priority[id] > priority[node]) {
+            split(node, id);
+            left[id] = splitLeft;
+            right[id] = splitRight;
+            resize(id);
+            return id;
+        }
+        if (before(id, node)) {
+            left[node] = insert(left[node], id);
+        } else {
+            right[node] = insert(right[node], id);
+        }
+        resize(node);
+        return node;
+    }
+
+    private void delete(int id) {
+        root = delete(root, id);
+        present[id] = false;
+        count--;
+    }
+
+    private int delete(int node, int id) {
+        if (node == id) return merge(left[node], right[node]);
+        if (before(id, node)) {
+            left[node] = delete(left[node], id);
+        } else {
+            right[node] = delete(right[node], id);
+        }
+        resize(node);
+        return node;
+    }
+
+    // Split into nodes ranked before id (splitLeft) and after it (splitRight)
+    private void split(int node, int id) {
+        if (node == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+        } else if (before(node, id)) {
+            split(right[node], id);
+            right[node] = splitLeft;
+            resize(node);
+            splitLeft = node;
+        } else {
+            split(left[node], id);
+            left[node] = splitRight;
+            resize(node);
+            splitRight = node;
+        }
+    }
+
+    private int merge(int a, int b) {
+        if (a == NIL) return b;
+        if (b == NIL) return a;
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            resize(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        resize(b);
+        return b;
+    }
+
+    // Does team a rank above team b?
+    private boolean before(int a, int b) {
+        if (key[a] != key[b]) return key[a] > key[b];
+        if (tieRank[a] != tieRank[b]) return tieRank[a] < tieRank[b];
+        return a < b;
+    }
+
+    private int sizeOf(int node) { return node == NIL ? 0 : size[node]; }
+    private void resize(int node) { size[node] = 1 + sizeOf(left[node]) + sizeOf(right[node]); }
+
+    private int nextPriority() {
+        // xorshift32, only needs to be well spread
+        int x = priorities;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        priorities = x;
+        return x;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= present.length) return;
+        int newCapacity = Math.max(capacity, present.length * 2);
+        teams = Arrays.copyOf(teams, newCapacity);
+        left = Arrays.copyOf(left, newCapacity);
+        right = Arrays.copyOf(right, newCapacity);
+        size = Arrays.copyOf(size, newCapacity);
+        priority = Arrays.copyOf(priority, newCapacity);
+        key = Arrays.copyOf(key, newCapacity);
+        tieRank = Arrays.copyOf(tieRank, newCapacity);
+        present = Arrays.copyOf(present, newCapacity);
+        homeGames = Arrays.copyOf(homeGames, newCapacity);
+        homeGameCount = Arrays.copyOf(homeGameCount, newCapacity);
+        tieValue = Arrays.copyOf(tieValue, newCapacity);
+        mark = Arrays.copyOf(mark, newCapacity);
+        headToHead = Arrays.copyOf(headToHead, 3 * newCapacity);
+    }
+
+    private final class RankedView extends AbstractList<Team> {
+        @Override
+        public Team get(int index) {
+            return Standings.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return o instanceof Team ? rankOf((Team) o) : -1;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+
+        @Override
+        public Iterator<Team> iterator() {
+            return range(0, count).iterator();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package org.example.soccer;
+
+import java.util.Arrays;
+
+// Headless column store for team and player statistics.
+// Teams and players are addressed by dense ids handed out by addTeam()/addPlayer();
+// Team and Player are thin views over these arrays and never touch JavaFX on the write path.
+// Ids are never reused, so packed references to them (see EventStore) stay valid.
+public final class StatsStore {
+    private Team[] teams;
+    private Player[] players;
+
+    // Team columns
+    private int[] points;
+    private int[] goalsFor;
+    private int[] goalsAgainst;
+    private int[] wins;
+    private int[] draws;
+    private int[] losses;
+    private int[] teamGamesPlayed;
+    // Tiebreaker totals, see TableRules
+    private int[] awayGoalsFor;
+    private int[] yellowCards;
+    private double[] elo; // strength, see MatchModel; unlike the rest it carries over between seasons
+    private int teamCount;
+
+    // Player columns
+    private int[] goalsScored;
+    private int[] playerGamesPlayed;
+    private int playerCount;
+
+    // Kept in step with goalsScored while attached; see League
+    private TopScorers scorers;
+
+    public StatsStore() {
+        this(16, 64);
+    }
+
+    public StatsStore(int teamCapacity, int playerCapacity) {
+        teamCapacity = Math.max(1, teamCapacity);
+        playerCapacity = Math.max(1, playerCapacity);
+        this.teams = new Team[teamCapacity];
+        this.players = new Player[playerCapacity];
+        this.points = new int[teamCapacity];
+        this.goalsFor = new int[teamCapacity];
+        this.goalsAgainst = new int[teamCapacity];
+        this.wins = new int[teamCapacity];
+        this.draws = new int[teamCapacity];
+        this.losses = new int[teamCapacity];
+        this.teamGamesPlayed = new int[teamCapacity];
+        this.awayGoalsFor = new int[teamCapacity];
+        this.yellowCards = new int[teamCapacity];
+        this.elo = new double[teamCapacity];
+        this.goalsScored = new int[playerCapacity];
+        this.playerGamesPlayed = new int[playerCapacity];
+    }
+
+    public int teamCount() { return teamCount; }
+    public int playerCount() { return playerCount; }
+
+    public int addTeam(Team team) {
+        if (teamCount == points.length) {
+            int capacity = points.length * 2;
+            teams = Arrays.copyOf(teams, capacity);
+            points = Arrays.copyOf(points, capacity);
+            goalsFor = Arrays.copyOf(goalsFor, capacity);
+            goalsAgainst = Arrays.copyOf(goalsAgainst, capacity);
+            wins = Arrays.copyOf(wins, capacity);
+            draws = Arrays.copyOf(draws, capacity);
+            losses = Arrays.copyOf(losses, capacity);
+            teamGamesPlayed = Arrays.copyOf(teamGamesPlayed, capacity);
+            awayGoalsFor = Arrays.copyOf(awayGoalsFor, capacity);
+            yellowCards = Arrays.copyOf(yellowCards, capacity);
+            elo = Arrays.copyOf(elo, capacity);
+        }
+        teams[teamCount] = team;
+        elo[teamCount] = MatchModel.INITIAL_RATING;
+        return teamCount++;
+    }
+
+    public int addPlayer(Player player) {
+        if (playerCount == goalsScored.length) {
+            int capacity = goalsScored.length * 2;
+            players = Arrays.copyOf(players, capacity);
+            goalsScored = Arrays.copyOf(goalsScored, capacity);
+            playerGamesPlayed = Arrays.copyOf(playerGamesPlayed, capacity);
+        }
+        players[playerCount] = player;
+        if (scorers != null) scorers.add(playerCount, player);
+        return playerCount++;
+    }
+
+    public Team team(int id) { return teams[id]; }
+    public Player player(int id) { return players[id]; }
+
+    // Team getters
+    public int points(int team) { return points[team]; }
+    public int goalsFor(int team) { return goalsFor[team]; }
+    public int goalsAgainst(int team) { return goalsAgainst[team]; }
+    public int wins(int team) { return wins[team]; }
+    public int draws(int team) { return draws[team]; }
+    public int losses(int team) { return losses[team]; }
+    public int teamGamesPlayed(int team) { return teamGamesPlayed[team]; }
+    public int awayGoalsFor(int team) { return awayGoalsFor[team]; }
+    public int yellowCards(int team) { return yellowCards[team]; }
+    public double elo(int team) { return elo[team]; }
+
+    // Player getters
+    public int goalsScored(int player) { return goalsScored[player]; }
+    public int playerGamesPlayed(int player) { return playerGamesPlayed[player]; }
+
+    // Match result updates
+    public void recordWin(int team, int scored, int conceded) {
+        wins[team]++;
+        points[team] += 3;
+        recordGoals(team, scored, conceded);
+    }
+
+    public void recordDraw(int team, int scored, int conceded) {
+        draws[team]++;
+        points[team] += 1;
+        recordGoals(team, scored, conceded);
+    }
+
+    public void recordLoss(int team, int scored, int conceded) {
+        losses[team]++;
+        recordGoals(team, scored, conceded);
+    }
+
+    private void recordGoals(int team, int scored, int conceded) {
+        goalsFor[team] += scored;
+        goalsAgainst[team] += conceded;
+        teamGamesPlayed[team]++;
+    }
+
+    public void recordAwayGoals(int team, int scored) { awayGoalsFor[team] += scored; }
+    public void addYellowCard(int team) { yellowCards[team]++; }
+
+    public void addGoal(int player) {
+        goalsScored[player]++;
+        if (scorers != null) scorers.raise(player, goalsScored[player] - 1, goalsScored[player]);
+    }
+
+    public void addGame(int player) { playerGamesPlayed[player]++; }
+
+    // After a result (see MatchModel) or when a snapshot is read back
+    void setElo(int team, double rating) { elo[team] = rating; }
+
+    // Copy one team's row from another store into this one, used when a team joins a league
+    void copyTeam(int team, StatsStore from, int fromTeam) {
+        points[team] = from.points[fromTeam];
+        goalsFor[team] = from.goalsFor[fromTeam];
+        goalsAgainst[team] = from.goalsAgainst[fromTeam];
+        wins[team] = from.wins[fromTeam];
+        draws[team] = from.draws[fromTeam];
+        losses[team] = from.losses[fromTeam];
+        teamGamesPlayed[team] = from.teamGamesPlayed[fromTeam];
+        awayGoalsFor[team] = from.awayGoalsFor[fromTeam];
+        yellowCards[team] = from.yellowCards[fromTeam];
+        elo[team] = from.elo[fromTeam];
+    }
+
+    // Set one team's row outright, used when a snapshot is read back
+    void restoreTeam(int team, int points, int goalsFor, int goalsAgainst, int wins, int draws, int losses,
+                     int gamesPlayed, int awayGoalsFor, int yellowCards) {
+        this.points[team] = points;
+        this.goalsFor[team] = goalsFor;
+        this.goalsAgainst[team] = goalsAgainst;
+        this.wins[team] = wins;
+        this.draws[team] = draws;
+        this.losses[team] = losses;
+        this.teamGamesPlayed[team] = gamesPlayed;
+        this.awayGoalsFor[team] = awayGoalsFor;
+        this.yellowCards[team] = yellowCards;
+    }
+
+    void restorePlayer(int player, int goalsScored, int gamesPlayed) {
+        this.goalsScored[player] = goalsScored;
+        this.playerGamesPlayed[player] = gamesPlayed;
+    }
+
+    void copyPlayer(int player, StatsStore from, int fromPlayer) {
+        goalsScored[player] = from.goalsScored[fromPlayer];
+        playerGamesPlayed[player] = from.playerGamesPlayed[fromPlayer];
+        if (scorers != null) scorers.raise(player, 0, goalsScored[player]);
+    }
+
+    // Attach (or, with null, detach) the ranking that follows this store's goals.
+    // Detach while games are played on several threads and rebuild the ranking afterwards.
+    void trackScorers(TopScorers scorers) {
+        this.scorers = scorers;
+    }
+
+    // A new season: ratings are kept
+    public void reset() {
+        Arrays.fill(points, 0, teamCount, 0);
+        Arrays.fill(goalsFor, 0, teamCount, 0);
+        Arrays.fill(goalsAgainst, 0, teamCount, 0);
+        Arrays.fill(wins, 0, teamCount, 0);
+        Arrays.fill(draws, 0, teamCount, 0);
+        Arrays.fill(losses, 0, teamCount, 0);
+        Arrays.fill(teamGamesPlayed, 0, teamCount, 0);
+        Arrays.fill(awayGoalsFor, 0, teamCount, 0);
+        Arrays.fill(yellowCards, 0, teamCount, 0);
+        Arrays.fill(goalsScored, 0, playerCount, 0);
+        Arrays.fill(playerGamesPlayed, 0, playerCount, 0);
+        if (scorers != null) scorers.rebuild(this);
+    }
+}
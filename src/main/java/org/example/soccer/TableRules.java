@@ -0,0 +1,88 @@
+package org.example.soccer;
+
+import java.util.*;
+
+// How teams level on points are separated, criteria in order; teams level on all of them
+// keep registration order. Head-to-head ranks the tied teams by a mini-table of the games
+// between them (points, then goal difference, then goals for), so it depends on which teams
+// are tied; the other criteria are per-team totals. Fair play favours fewer yellow cards.
+// Immutable; a league swaps in new rules when they change (see Standings).
+public final class TableRules {
+    public enum Tiebreaker {
+        GOAL_DIFFERENCE("gd"),
+        GOALS_FOR("gf"),
+        AWAY_GOALS("away"),
+        FAIR_PLAY("fair-play"),
+        HEAD_TO_HEAD("h2h");
+
+        private final String code;
+
+        Tiebreaker(String code) {
+            this.code = code;
+        }
+
+        public String getCode() { return code; }
+    }
+
+    // Goal difference, then goals for
+    public static final TableRules STANDARD = new TableRules(Tiebreaker.GOAL_DIFFERENCE, Tiebreaker.GOALS_FOR);
+    // Head-to-head before the overall goal difference, as in Spain and Italy
+    public static final TableRules HEAD_TO_HEAD_FIRST = new TableRules(Tiebreaker.HEAD_TO_HEAD,
+            Tiebreaker.GOAL_DIFFERENCE, Tiebreaker.GOALS_FOR);
+    // A European group: head-to-head, overall goal difference and goals, away goals, fair play
+    public static final TableRules GROUP_STAGE = new TableRules(Tiebreaker.HEAD_TO_HEAD,
+            Tiebreaker.GOAL_DIFFERENCE, Tiebreaker.GOALS_FOR, Tiebreaker.AWAY_GOALS, Tiebreaker.FAIR_PLAY);
+
+    private final Tiebreaker[] tiebreakers;
+    private final List<Tiebreaker> view;
+
+    public TableRules(Tiebreaker... tiebreakers) {
+        EnumSet<Tiebreaker> seen = EnumSet.noneOf(Tiebreaker.class);
+        for (Tiebreaker tiebreaker : tiebreakers) {
+            if (!seen.add(Objects.requireNonNull(tiebreaker))) {
+                throw new IllegalArgumentException("Tiebreaker listed twice: " + tiebreaker);
+            }
+        }
+        this.tiebreakers = tiebreakers.clone();
+        this.view = Collections.unmodifiableList(Arrays.asList(this.tiebreakers));
+    }
+
+    // Comma-separated codes, e.g. "h2h,gd,gf,away,fair-play"; empty for points alone
+    public static TableRules parse(String codes) {
+        List<Tiebreaker> parsed = new ArrayList<>();
+        for (String code : codes.split(",")) {
+            code = code.trim();
+            if (code.isEmpty()) continue;
+            Tiebreaker match = null;
+            for (Tiebreaker tiebreaker : Tiebreaker.values()) {
+                if (tiebreaker.code.equalsIgnoreCase(code)) match = tiebreaker;
+            }
+            if (match == null) {
+                throw new IllegalArgumentException("Unknown tiebreaker " + code + ", expected gd, gf, away, fair-play or h2h");
+            }
+            parsed.add(match);
+        }
+        return new TableRules(parsed.toArray(new Tiebreaker[0]));
+    }
+
+    public List<Tiebreaker> getTiebreakers() { return view; }
+    public int size() { return tiebreakers.length; }
+    public Tiebreaker get(int i) { return tiebreakers[i]; }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TableRules && Arrays.equals(tiebreakers, ((TableRules) o).tiebreakers);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(tiebreakers); }
+
+    @Override
+    public String toString() {
+        StringJoiner codes = new StringJoiner(",");
+        for (Tiebreaker tiebreaker : tiebreakers) {
+            codes.add(tiebreaker.code);
+        }
+        return codes.toString();
+    }
+}
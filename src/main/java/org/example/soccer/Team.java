@@ -1,49 +1,60 @@
 package org.example.soccer;
 
 import javafx.beans.property.*;
-import javafx.collections.*;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class Team {
-    private final StringProperty name;
-    private final ObservableList<Player> players;
-    private final IntegerProperty points;
-    private final IntegerProperty goalsFor;
-    private final IntegerProperty goalsAgainst;
-    private final IntegerProperty wins;
-    private final IntegerProperty draws;
-    private final IntegerProperty losses;
-    private final IntegerProperty gamesPlayed;
+    private final String name;
+    private final List<Player> players;
+    private final List<Player> playersView;
+    private int version; // counts squad, position and rating changes, so the selector knows when to rebuild
+    private PlayerSelector selector; // weighted picks, rebuilt when the squad changes
+    private StatsStore stats;
+    private int id;
+    private Properties properties; // created on first UI binding
 
     public Team(String name) {
-        this.name = new SimpleStringProperty(name);
-        this.players = FXCollections.observableArrayList();
-        this.points = new SimpleIntegerProperty(0);
-        this.goalsFor = new SimpleIntegerProperty(0);
-        this.goalsAgainst = new SimpleIntegerProperty(0);
-        this.wins = new SimpleIntegerProperty(0);
-        this.draws = new SimpleIntegerProperty(0);
-        this.losses = new SimpleIntegerProperty(0);
-        this.gamesPlayed = new SimpleIntegerProperty(0);
-    }
-
-    // Property getters
-    public StringProperty nameProperty() { return name; }
-    public IntegerProperty pointsProperty() { return points; }
-    public IntegerProperty goalsForProperty() { return goalsFor; }
-    public IntegerProperty goalsAgainstProperty() { return goalsAgainst; }
-    public IntegerProperty winsProperty() { return wins; }
-    public IntegerProperty drawsProperty() { return draws; }
-    public IntegerProperty lossesProperty() { return losses; }
-    public IntegerProperty gamesPlayedProperty() { return gamesPlayed; }
+        this(name, new StatsStore(1, 16));
+    }
+
+    // Registered straight into a store, e.g. when a snapshot is read back
+    Team(String name, StatsStore stats) {
+        this.name = name;
+        this.players = new ArrayList<>();
+        this.playersView = Collections.unmodifiableList(players);
+        this.stats = stats;
+        this.id = stats.addTeam(this);
+    }
+
+    // Property getters (JavaFX view, refreshed by syncProperties())
+    public ReadOnlyStringProperty nameProperty() { return properties().name.getReadOnlyProperty(); }
+    public ReadOnlyIntegerProperty pointsProperty() { return properties().points.getReadOnlyProperty(); }
+    public ReadOnlyIntegerProperty goalsForProperty() { return properties().goalsFor.getReadOnlyProperty(); }
+    public ReadOnlyIntegerProperty goalsAgainstProperty() { return properties().goalsAgainst.getReadOnlyProperty(); }
+    public ReadOnlyIntegerProperty winsProperty() { return properties().wins.getReadOnlyProperty(); }
+    public ReadOnlyIntegerProperty drawsProperty() { return properties().draws.getReadOnlyProperty(); }
+    public ReadOnlyIntegerProperty lossesProperty() { return properties().losses.getReadOnlyProperty(); }
+    public ReadOnlyIntegerProperty gamesPlayedProperty() { return properties().gamesPlayed.getReadOnlyProperty(); }
+    public ReadOnlyIntegerProperty goalDifferenceProperty() { return properties().goalDifference.getReadOnlyProperty(); }
 
     // Regular getters
-    public String getName() { return name.get(); }
-    public ObservableList<Player> getPlayers() { return players; }
-    public int getPoints() { return points.get(); }
-    public int getGoalsFor() { return goalsFor.get(); }
-    public int getGoalsAgainst() { return goalsAgainst.get(); }
+    public String getName() { return name; }
+    // Read-only; the squad changes through addPlayer() and removePlayer()
+    public List<Player> getPlayers() { return playersView; }
+    public int getId() { return id; }
+    public StatsStore getStats() { return stats; }
+    public int getPoints() { return stats.points(id); }
+    public int getGoalsFor() { return stats.goalsFor(id); }
+    public int getGoalsAgainst() { return stats.goalsAgainst(id); }
+    public int getWins() { return stats.wins(id); }
+    public int getDraws() { return stats.draws(id); }
+    public int getLosses() { return stats.losses(id); }
+    public int getGamesPlayed() { return stats.teamGamesPlayed(id); }
+    public int getAwayGoalsFor() { return stats.awayGoalsFor(id); }
+    public int getYellowCards() { return stats.yellowCards(id); }
+    public double getElo() { return stats.elo(id); }
 
 
     public int getGoalDifference() {
@@ -52,38 +63,116 @@ public class Team {
 
 
     public void addPlayer(Player player) {
+        join(player);
+        player.moveTo(stats);
+    }
+
+    // The player leaves the squad; their stats stay in the store
+    public boolean removePlayer(Player player) {
+        if (!players.remove(player)) return false;
+        version++;
+        player.joinTeam(null);
+        return true;
+    }
+
+    // Add a player already registered in this team's store (import, snapshot)
+    void join(Player player) {
         players.add(player);
+        version++;
+        player.joinTeam(this);
+    }
+
+    // Re-home this team and its squad into another store (e.g. when joining a league)
+    void moveTo(StatsStore target) {
+        int newId = target.addTeam(this);
+        target.copyTeam(newId, stats, id);
+        stats = target;
+        id = newId;
+        for (Player player : players) {
+            player.moveTo(target);
+        }
     }
 
 
 
     public Player getRandomPlayer() {
         if (players.isEmpty()) return null;
-        Random random = new Random();
+        return players.get(ThreadLocalRandom.current().nextInt(players.size()));
+    }
+
+    public Player getRandomPlayer(RandomSource random) {
+        if (players.isEmpty()) return null;
         return players.get(random.nextInt(players.size()));
     }
 
+    // Pick the player involved in a GOAL, YELLOW_CARD or POSSESSION event (see EventStore),
+    // weighted by position and rating
+    public Player getRandomPlayer(RandomSource random, int eventType) {
+        if (selector == null || selector.getVersion() != version) {
+            selector = new PlayerSelector(players, version);
+        }
+        return selector.pick(random, eventType);
+    }
+
+    // A player's position or rating changed
+    void weightsChanged() { version++; }
+
     // Match result updates
     public void recordWin(int goalsScored, int goalsConceded) {
-        wins.set(wins.get() + 1);
-        points.set(points.get() + 3);
-        goalsFor.set(goalsFor.get() + goalsScored);
-        goalsAgainst.set(goalsAgainst.get() + goalsConceded);
-        gamesPlayed.set(gamesPlayed.get() + 1);
+        stats.recordWin(id, goalsScored, goalsConceded);
     }
 
     public void recordDraw(int goalsScored, int goalsConceded) {
-        draws.set(draws.get() + 1);
-        points.set(points.get() + 1);
-        goalsFor.set(goalsFor.get() + goalsScored);
-        goalsAgainst.set(goalsAgainst.get() + goalsConceded);
-        gamesPlayed.set(gamesPlayed.get() + 1);
+        stats.recordDraw(id, goalsScored, goalsConceded);
     }
 
     public void recordLoss(int goalsScored, int goalsConceded) {
-        losses.set(losses.get() + 1);
-        goalsFor.set(goalsFor.get() + goalsScored);
-        goalsAgainst.set(goalsAgainst.get() + goalsConceded);
-        gamesPlayed.set(gamesPlayed.get() + 1);
+        stats.recordLoss(id, goalsScored, goalsConceded);
+    }
+
+    public void recordAwayGoals(int goalsScored) { stats.recordAwayGoals(id, goalsScored); }
+    public void addYellowCard() { stats.addYellowCard(id); }
+
+    // Push the current stats into the bound properties; no-op until the UI has asked for one
+    public void syncProperties() {
+        if (properties != null) {
+            properties.sync(this);
+        }
+    }
+
+    private Properties properties() {
+        if (properties == null) {
+            properties = new Properties(this);
+        }
+        return properties;
+    }
+
+    // Kept in its own class so JavaFX is only loaded once something binds to a team
+    private static final class Properties {
+        final ReadOnlyStringWrapper name;
+        final ReadOnlyIntegerWrapper points = new ReadOnlyIntegerWrapper();
+        final ReadOnlyIntegerWrapper goalsFor = new ReadOnlyIntegerWrapper();
+        final ReadOnlyIntegerWrapper goalsAgainst = new ReadOnlyIntegerWrapper();
+        final ReadOnlyIntegerWrapper wins = new ReadOnlyIntegerWrapper();
+        final ReadOnlyIntegerWrapper draws = new ReadOnlyIntegerWrapper();
+        final ReadOnlyIntegerWrapper losses = new ReadOnlyIntegerWrapper();
+        final ReadOnlyIntegerWrapper gamesPlayed = new ReadOnlyIntegerWrapper();
+        final ReadOnlyIntegerWrapper goalDifference = new ReadOnlyIntegerWrapper();
+
+        Properties(Team team) {
+            this.name = new ReadOnlyStringWrapper(team.getName());
+            sync(team);
+        }
+
+        void sync(Team team) {
+            points.set(team.getPoints());
+            goalsFor.set(team.getGoalsFor());
+            goalsAgainst.set(team.getGoalsAgainst());
+            wins.set(team.getWins());
+            draws.set(team.getDraws());
+            losses.set(team.getLosses());
+            gamesPlayed.set(team.getGamesPlayed());
+            goalDifference.set(team.getGoalDifference());
+        }
     }
 }
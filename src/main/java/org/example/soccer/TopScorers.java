@@ -0,0 +1,203 @@
+package org.example.soccer;
+
+import java.util.*;
+
+// Incremental top-scorers table for a league's players, ordered by goals (most first).
+// Players with the same goal count sit in one contiguous block of ranks, ordered by id, so
+// the table depends only on the goal counts and not on how the games were played. A goal
+// moves the scorer up past the rest of its block into its id's place in the next one and
+// moves the block boundary: one array shift of the ranks in between, reported to listeners
+// as a single move. No per-player rank is stored; a player's rank is found by binary search
+// on id within its goal count's block.
+// Bulk changes (a whole season, a reset) re-rank everything with one counting sort.
+// Players are indexed by their id in the league's StatsStore.
+public final class TopScorers {
+    public interface Listener {
+        // A player moved between 0-based ranks, shifting the ranks in between by one; from is
+        // -1 when it was added, to is -1 when removed
+        void moved(Player player, int from, int to);
+
+        // The whole order changed (bulk rebuild or clear)
+        default void reordered() {
+        }
+    }
+
+    private Player[] order = new Player[64];
+    private Player[] byId = new Player[64]; // the ranked players, null where an id is not
+    // above[g]: number of players with more than g goals, i.e. the first rank of the g-goal block
+    private int[] above = new int[8];
+    private int count;
+    private Player[] scratch = new Player[0];
+    private final List<Listener> listeners = new ArrayList<>();
+    private final List<Player> view = new RankedView();
+
+    public void addListener(Listener listener) { listeners.add(listener); }
+    public void removeListener(Listener listener) { listeners.remove(listener); }
+
+    public int size() { return count; }
+
+    // Players in rank order; read-only and always current
+    public List<Player> asList() { return view; }
+
+    public Player get(int rank) {
+        Objects.checkIndex(rank, count);
+        return order[rank];
+    }
+
+    // 0-based rank, or -1 if the player is not in the table. While the ranking waits for a
+    // rebuild (see StatsStore.trackScorers()) goal counts may not match the blocks; the
+    // player is then searched for rank by rank
+    public int rankOf(Player player) {
+        int id = player.getId();
+        if (id >= byId.length || byId[id] != player) return -1;
+        int r = find(id, player.getGoalsScored());
+        if (r < count && order[r] == player) return r;
+        for (r = 0; r < count; r++) {
+            if (order[r] == player) return r;
+        }
+        return -1;
+    }
+
+    public List<Player> top(int k) {
+        return List.copyOf(Arrays.asList(order).subList(0, Math.min(k, count)));
+    }
+
+    // A player entered the store with no goals yet; it joins the bottom block, last by id
+    // since the store hands out ids in order
+    void add(int id, Player player) {
+        ensureCapacity(id + 1, count + 1);
+        order[count] = player;
+        byId[id] = player;
+        count++;
+        for (Listener listener : listeners) listener.moved(player, -1, count - 1);
+    }
+
+    // The player at this id went from one goal count up to another
+    void raise(int id, int fromGoals, int toGoals) {
+        if (id >= byId.length || byId[id] == null || toGoals <= fromGoals) return;
+        ensureGoals(toGoals + 1);
+        int r = find(id, fromGoals);
+        // The player's place by id in the toGoals block, as it stands before the move
+        int to = find(id, toGoals);
+        for (int g = fromGoals; g < toGoals; g++) {
+            above[g]++;
+        }
+        // Everyone in [to, r) moves down one rank to make room
+        Player player = order[r];
+        System.arraycopy(order, to, order, to + 1, r - to);
+        order[to] = player;
+        if (to == r) return;
+        for (Listener listener : listeners) listener.moved(player, r, to);
+    }
+
+    public void remove(Player player) {
+        int r = rankOf(player);
+        if (r < 0) return;
+        // Everyone below moves up one rank; blocks with fewer goals start one rank higher
+        for (int g = player.getGoalsScored() - 1; g >= 0; g--) {
+            above[g]--;
+        }
+        count--;
+        System.arraycopy(order, r + 1, order, r, count - r);
+        order[count] = null;
+        byId[player.getId()] = null;
+        for (Listener listener : listeners) listener.moved(player, r, -1);
+    }
+
+    // Re-rank every player from the store's goal column, equal goal counts by id
+    void rebuild(StatsStore stats) {
+        int max = 0;
+        for (int r = 0; r < count; r++) {
+            max = Math.max(max, stats.goalsScored(order[r].getId()));
+        }
+        ensureGoals(max);
+        Arrays.fill(above, 0);
+        // Count each goal total, then turn the counts into block heads, most goals first
+        int[] next = new int[max + 1];
+        for (int r = 0; r < count; r++) {
+            next[stats.goalsScored(order[r].getId())]++;
+        }
+        int head = 0;
+        for (int g = max; g >= 0; g--) {
+            int players = next[g];
+            next[g] = head;
+            head += players;
+            if (g > 0) above[g - 1] = head;
+        }
+        if (scratch.length < count) scratch = new Player[order.length];
+        for (int id = 0; id < byId.length; id++) {
+            if (byId[id] != null) scratch[next[stats.goalsScored(id)]++] = byId[id];
+        }
+        System.arraycopy(scratch, 0, order, 0, count);
+        Arrays.fill(scratch, 0, count, null);
+        for (Listener listener : listeners) listener.reordered();
+    }
+
+    // Replace the ranked players wholesale (e.g. a restored league); one reorder is reported
+    void reset(Collection<Player> players, StatsStore stats) {
+        Arrays.fill(order, 0, count, null);
+        Arrays.fill(byId, null);
+        count = 0;
+        for (Player player : players) {
+            ensureCapacity(player.getId() + 1, count + 1);
+            order[count] = player;
+            byId[player.getId()] = player;
+            count++;
+        }
+        rebuild(stats);
+    }
+
+    public void clear() {
+        Arrays.fill(order, 0, count, null);
+        Arrays.fill(byId, null);
+        Arrays.fill(above, 0);
+        count = 0;
+        for (Listener listener : listeners) listener.reordered();
+    }
+
+    // The first rank in this goal count's block whose player's id is not below id
+    private int find(int id, int goals) {
+        int lo = goals < above.length ? above[goals] : 0;
+        int hi = goals == 0 ? count : goals <= above.length ? above[goals - 1] : 0;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (order[mid].getId() < id) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private void ensureCapacity(int ids, int players) {
+        if (ids > byId.length) byId = Arrays.copyOf(byId, Math.max(ids, byId.length * 2));
+        if (players > order.length) {
+            order = Arrays.copyOf(order, Math.max(players, order.length * 2));
+        }
+    }
+
+    private void ensureGoals(int goals) {
+        // New entries start at 0: nobody has more goals than the current maximum
+        if (goals > above.length) above = Arrays.copyOf(above, Math.max(goals, above.length * 2));
+    }
+
+    private final class RankedView extends AbstractList<Player> {
+        @Override
+        public Player get(int index) {
+            return TopScorers.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return o instanceof Player ? rankOf((Player) o) : -1;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+    }
+}